@@ -0,0 +1,170 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.port.out.UserRepository;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
+import com.bcp.security.infrastructure.adapter.persistence.jdbc.JdbcExecutor;
+import com.bcp.security.infrastructure.adapter.persistence.jdbc.JdbcUserRepository;
+import com.bcp.security.infrastructure.adapter.persistence.jdbc.JdbcUserRepositoryAdapter;
+import com.bcp.security.infrastructure.adapter.persistence.mapper.UserMapper;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcUserQueryRepository;
+import com.bcp.security.infrastructure.adapter.persistence.routing.ReadRouting;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The R2DBC {@link UserRepositoryAdapter} against the JDBC adapter on an executor, both with
+ * 20 pooled connections to the same in-memory H2 database seeded with {@value #USERS} users.
+ * Each invocation fires {@code concurrency} lookups at once and waits for all of them: the
+ * {@code requests} counter gives lookups per second, and the sample-time percentiles are the
+ * time for the slowest lookup of the burst to finish. H2 answers in microseconds, so this
+ * measures what each engine adds on top of the database, not network round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepositoryEngineBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int POOL_SIZE = 20;
+    private static final String DATABASE = "engine_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"r2dbc", "jdbc"})
+    public String engine;
+
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    @Param({"findById", "findByUsername"})
+    public String lookup;
+
+    private HikariDataSource dataSource;
+    private ConnectionPool connectionPool;
+    private JdbcExecutor jdbcExecutor;
+    private UserRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + DATABASE);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(POOL_SIZE);
+        dataSource = new HikariDataSource(config);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        UserMapper userMapper = new UserMapper();
+        JdbcUserRepository jdbcUserRepository = new JdbcUserRepository(new NamedParameterJdbcTemplate(dataSource));
+        seed(jdbcUserRepository, userMapper);
+
+        if (engine.equals("jdbc")) {
+            jdbcExecutor = new JdbcExecutor(true, POOL_SIZE, 10_000, new SimpleMeterRegistry());
+            repository = new JdbcUserRepositoryAdapter(jdbcUserRepository, jdbcExecutor,
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource)), userMapper);
+        } else {
+            connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                            ConnectionFactoryOptions.parse("r2dbc:h2:mem:///" + DATABASE).mutate()
+                                    .option(ConnectionFactoryOptions.USER, "sa")
+                                    .option(ConnectionFactoryOptions.PASSWORD, "")
+                                    .build()))
+                    .maxSize(POOL_SIZE)
+                    .build());
+            R2dbcUserQueryRepository queryRepository = new R2dbcUserQueryRepository(DatabaseClient.create(connectionPool));
+            ReadRouting readRouting = new ReadRouting("", 0, 1);
+            UserBatchLoader batchLoader = new UserBatchLoader(queryRepository, userMapper, readRouting,
+                    new SimpleMeterRegistry(), 2, 5000);
+            repository = new UserRepositoryAdapter(null, queryRepository, null, null, batchLoader, userMapper, readRouting);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+        if (jdbcExecutor != null) {
+            jdbcExecutor.destroy();
+        }
+        dataSource.close();
+    }
+
+    @Benchmark
+    public long concurrentLookups(Requests requests) {
+        Long found = Flux.range(0, concurrency)
+                .flatMap(i -> lookup(ThreadLocalRandom.current().nextInt(USERS)), concurrency)
+                .count()
+                .block();
+        requests.requests += concurrency;
+        return found;
+    }
+
+    private Mono<User> lookup(int user) {
+        return lookup.equals("findById")
+                ? repository.findById((long) user + 1)
+                : repository.findByUsername("benchmark-user-" + user);
+    }
+
+    private static void seed(JdbcUserRepository jdbcUserRepository, UserMapper userMapper) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UserEntity> users = IntStream.range(0, USERS)
+                .mapToObj(i -> {
+                    UserEntity userEntity = userMapper.toEntity(User.builder()
+                            .username("benchmark-user-" + i)
+                            .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZJZ5K8j5rZ5Zl5j5ZJ5Z5e")
+                            .email("benchmark-user-" + i + "@example.com")
+                            .build());
+                    userEntity.setCreatedAt(now);
+                    userEntity.setUpdatedAt(now);
+                    return userEntity;
+                })
+                .toList();
+        jdbcUserRepository.insertUsers(users);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Requests {
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bcp.security.infrastructure.adapter.persistence.mapper;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private UserMapper mapper;
+    private UserEntity entity;
+    private User user;
+    private List<UserRoleRow> joinedRows;
+
+    @Setup
+    public void setUp() {
+        mapper = new UserMapper();
+        LocalDateTime now = LocalDateTime.now();
+        entity = UserEntity.builder()
+                .id(42L)
+                .username("benchmark-user")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZJZ5K8j5rZ5Zl5j5ZJ5Z5e")
+                .email("benchmark@example.com")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        user = mapper.toDomain(entity);
+        joinedRows = List.of(
+                UserRoleRow.builder().userId(42L).username("benchmark-user").email("benchmark@example.com")
+                        .createdAt(now).updatedAt(now).roleId(1L).roleName("ROLE_USER").build(),
+                UserRoleRow.builder().userId(42L).username("benchmark-user").email("benchmark@example.com")
+                        .createdAt(now).updatedAt(now).roleId(2L).roleName("ROLE_ADMIN").build());
+    }
+
+    @Benchmark
+    public User toDomain() {
+        return mapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public User toDomainFromJoinedRows() {
+        return mapper.toDomain(joinedRows);
+    }
+
+    @Benchmark
+    public UserEntity toEntity() {
+        return mapper.toEntity(user);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.infrastructure.adapter.persistence.RoleCatalog;
+
+import java.util.List;
+
+/**
+ * Role catalog for benchmarks that need a {@link RoleClaimCodec} without a database. An empty
+ * role list behaves like a catalog that has not been loaded yet.
+ */
+class FixedRoleCatalog extends RoleCatalog {
+
+    private final RoleCatalog.Snapshot snapshot;
+
+    FixedRoleCatalog(List<Role> roles) {
+        super(null);
+        this.snapshot = roles.isEmpty() ? null : RoleCatalog.Snapshot.of(roles);
+    }
+
+    @Override
+    public RoleCatalog.Snapshot currentSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.SigningKey;
+import com.bcp.security.domain.port.out.SigningKeyRepository;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Key storage for benchmarks that need a {@link JwtKeyRing} without a database.
+ */
+class InMemorySigningKeyRepository implements SigningKeyRepository {
+
+    private final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+
+    @Override
+    public Flux<SigningKey> findAll() {
+        return Flux.fromIterable(keys.values());
+    }
+
+    @Override
+    public synchronized Mono<SigningKey> save(SigningKey signingKey) {
+        if (keys.values().stream().anyMatch(key -> key.getGeneration().equals(signingKey.getGeneration()))) {
+            return Mono.error(new DuplicateKeyException("Signing key generation " + signingKey.getGeneration()));
+        }
+        keys.put(signingKey.getKid(), signingKey);
+        return Mono.just(signingKey);
+    }
+
+    @Override
+    public Mono<Void> deleteByKids(Collection<String> kids) {
+        kids.forEach(keys::remove);
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token hot path. {@code cacheSize=0} measures full signature verification on every call,
+ * a non-zero size measures a client re-sending the same token; {@code algorithm} compares
+ * the signing algorithms the key ring can be configured with and {@code roleClaim} compares
+ * the role bitmask claim with the legacy comma-separated names claim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    @Param({"RS256", "ES256"})
+    public String algorithm;
+
+    @Param({"bitmask", "names"})
+    public String roleClaim;
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(cacheSize, meterRegistry);
+        JwtKeyRing keyRing = new JwtKeyRing(new InMemorySigningKeyRepository(), SECRET, 86_400_000L,
+                algorithm, 604_800_000L, 3_600_000L);
+        keyRing.refresh().block();
+        List<Role> roles = "bitmask".equals(roleClaim)
+                ? List.of(new Role(1L, "ROLE_USER"), new Role(2L, "ROLE_ADMIN"))
+                : List.of();
+        RoleClaimCodec roleClaimCodec = new RoleClaimCodec(new FixedRoleCatalog(roles));
+        tokenProvider = new JwtTokenProvider(keyRing, SECRET, true, 86_400_000L, 86_400_000L, cache, roleClaimCodec, meterRegistry);
+        authentication = new UsernamePasswordAuthenticationToken("benchmark-user", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public TokenValidation resolveAuthentication() {
+        return tokenProvider.resolveAuthentication(token);
+    }
+}
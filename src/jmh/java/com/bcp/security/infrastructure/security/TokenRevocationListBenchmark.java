@@ -0,0 +1,66 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request revocation check. {@code notRevoked} is the common case the Bloom filters are
+ * there for; {@code revokedToken} pays for the exact lookup behind them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationListBenchmark {
+
+    @Param({"1000", "100000"})
+    public int revokedTokens;
+
+    private TokenRevocationList revocationList;
+    private String liveTokenId;
+    private String revokedTokenId;
+    private Instant issuedAt;
+
+    @Setup
+    public void setUp() {
+        revocationList = new TokenRevocationList(null, null, 100_000, 0.01);
+        Instant now = Instant.now();
+        for (int i = 0; i < revokedTokens; i++) {
+            revokedTokenId = UUID.randomUUID().toString();
+            revocationList.apply(TokenRevocation.builder()
+                    .type(TokenRevocation.Type.TOKEN)
+                    .subject(revokedTokenId)
+                    .revokedAt(now)
+                    .expiresAt(now.plusSeconds(900))
+                    .build());
+        }
+        liveTokenId = UUID.randomUUID().toString();
+        issuedAt = now;
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return revocationList.isRevoked(liveTokenId, "benchmark-user", issuedAt);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revocationList.isRevoked(revokedTokenId, "benchmark-user", issuedAt);
+    }
+}
@@ -0,0 +1,106 @@
+package com.bcp.security.infrastructure.web.codec;
+
+import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
+import com.bcp.security.infrastructure.web.dto.response.JwtResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserPageResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Envelope creation plus encoding into pooled Netty buffers, as the response writer does it,
+ * with the Jackson codec and with {@link ApiResponseEncoder}. Run with {@code -prof gc} to
+ * compare the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseEncoderBenchmark {
+
+    private static final ResolvableType ENVELOPE_TYPE = ResolvableType.forClass(ApiResponse.class);
+
+    @Param({"user", "page", "jwt"})
+    public String payload;
+
+    private NettyDataBufferFactory bufferFactory;
+    private Jackson2JsonEncoder jacksonEncoder;
+    private ApiResponseEncoder apiResponseEncoder;
+    private Object data;
+
+    @Setup
+    public void setUp() {
+        bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        jacksonEncoder = new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        apiResponseEncoder = new ApiResponseEncoder(jacksonEncoder);
+        data = switch (payload) {
+            case "user" -> user(42);
+            case "page" -> UserPageResponse.builder()
+                    .users(IntStream.range(0, 50).mapToObj(ApiResponseEncoderBenchmark::user).toList())
+                    .nextCursor(50L)
+                    .build();
+            case "jwt" -> JwtResponse.builder()
+                    .token("eyJraWQiOiJiZW5jaG1hcmsiLCJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJiZW5jaG1hcmstdXNlciJ9.signature")
+                    .refreshToken("6f1c2a8e0b7d4c1f9a3e5b2d8c7f1a0e")
+                    .expiresIn(900L)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        };
+    }
+
+    @Benchmark
+    public int jackson() {
+        return sizeAndRelease(jacksonEncoder.encodeValue(ApiResponse.success(data), bufferFactory,
+                ENVELOPE_TYPE, MediaType.APPLICATION_JSON, Map.of()));
+    }
+
+    @Benchmark
+    public int apiResponseEncoder() {
+        return sizeAndRelease(apiResponseEncoder.encodeValue(ApiResponse.success(data), bufferFactory,
+                ENVELOPE_TYPE, MediaType.APPLICATION_JSON, Map.of()));
+    }
+
+    private static int sizeAndRelease(DataBuffer buffer) {
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    private static UserResponse user(int id) {
+        return UserResponse.builder()
+                .id((long) id)
+                .username("benchmark-user-" + id)
+                .email("benchmark-user-" + id + "@example.com")
+                .roles(Set.of("ROLE_USER", "ROLE_ADMIN"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
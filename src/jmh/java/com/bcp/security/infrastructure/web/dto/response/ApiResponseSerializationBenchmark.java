@@ -0,0 +1,62 @@
+package com.bcp.security.infrastructure.web.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envelope creation plus serialization with an ObjectMapper configured the way Spring Boot
+ * configures the WebFlux Jackson codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UserResponse userResponse;
+    private JwtResponse jwtResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        userResponse = UserResponse.builder()
+                .id(42L)
+                .username("benchmark-user")
+                .email("benchmark@example.com")
+                .roles(Set.of("ROLE_USER", "ROLE_ADMIN"))
+                .createdAt(LocalDateTime.now())
+                .build();
+        jwtResponse = JwtResponse.builder()
+                .token("eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJiZW5jaG1hcmstdXNlciJ9.signature")
+                .type("Bearer")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] userResponseEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(userResponse));
+    }
+
+    @Benchmark
+    public byte[] jwtResponseEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(jwtResponse));
+    }
+}
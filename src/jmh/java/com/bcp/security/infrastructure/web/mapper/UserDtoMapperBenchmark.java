@@ -0,0 +1,52 @@
+package com.bcp.security.infrastructure.web.mapper;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import com.bcp.security.infrastructure.web.dto.response.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDtoMapperBenchmark {
+
+    private UserDtoMapper mapper;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        mapper = new UserDtoMapper();
+        user = User.builder()
+                .id(42L)
+                .username("benchmark-user")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZJZ5K8j5rZ5Zl5j5ZJ5Z5e")
+                .email("benchmark@example.com")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .roles(Set.of(
+                        Role.builder().id(1L).name("ROLE_USER").build(),
+                        Role.builder().id(2L).name("ROLE_ADMIN").build()))
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse toResponse() {
+        return mapper.toResponse(user);
+    }
+}
@@ -1,45 +1,204 @@
 package com.bcp.security.application.service;
 
-import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.exception.UserAlreadyExistsException;
+import com.bcp.security.domain.model.AuthTokens;
+import com.bcp.security.domain.model.RefreshToken;
 import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserImportFailure;
+import com.bcp.security.domain.model.UserImportRecord;
+import com.bcp.security.domain.model.UserImportResult;
 import com.bcp.security.domain.port.in.AuthUseCase;
+import com.bcp.security.domain.port.out.LoginThrottle;
+import com.bcp.security.domain.port.out.PasswordHasher;
+import com.bcp.security.domain.port.out.RefreshTokenIssuer;
+import com.bcp.security.domain.port.out.RefreshTokenRepository;
 import com.bcp.security.domain.port.out.RoleRepository;
 import com.bcp.security.domain.port.out.UserRepository;
 import com.bcp.security.infrastructure.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService implements AuthUseCase {
 
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int IMPORT_HASH_CONCURRENCY = Runtime.getRuntime().availableProcessors() * 2;
+    private static final int MAX_REPORTED_IMPORT_FAILURES = 1000;
+
     private final ReactiveAuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenIssuer refreshTokenIssuer;
+    private final LoginThrottle loginThrottle;
 
     @Override
-    public Mono<String> login(String username, String password) {
-        return authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(username, password))
-                .map(tokenProvider::generateToken);
+    public Mono<AuthTokens> login(String username, String password) {
+        // El bloqueo se revisa antes de verificar la contraseña para no gastar BCrypt en intentos rechazados
+        return loginThrottle.checkUsername(username)
+                .then(Mono.defer(() -> authenticationManager
+                        .authenticate(new UsernamePasswordAuthenticationToken(username, password))))
+                .onErrorResume(BadCredentialsException.class, e -> loginThrottle.recordFailure(username)
+                        .then(Mono.error(e)))
+                .flatMap(authentication -> loginThrottle.recordSuccess(username)
+                        .then(issueTokens(authentication,
+                                refreshTokenIssuer.issue(UUID.randomUUID().toString(), authentication.getName()))));
+    }
+
+    @Override
+    public Mono<AuthTokens> refresh(String refreshToken) {
+        String tokenHash = refreshTokenIssuer.hash(refreshToken);
+        return refreshTokenRepository.findByTokenHash(tokenHash)
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid refresh token")))
+                .flatMap(stored -> {
+                    if (stored.getExpiresAt().isBefore(Instant.now())) {
+                        return Mono.error(new CredentialsExpiredException("Refresh token expired"));
+                    }
+                    // Un token ya usado indica que fue robado: se revoca toda la familia
+                    return refreshTokenRepository.markUsed(tokenHash)
+                            .flatMap(marked -> marked
+                                    ? rotate(stored)
+                                    : refreshTokenRepository.deleteFamily(stored.getFamilyId())
+                                            .then(Mono.error(new BadCredentialsException("Refresh token reuse detected"))));
+                });
+    }
+
+    private Mono<AuthTokens> rotate(RefreshToken previous) {
+        // Los roles se leen de nuevo para que un grant o revoke aplique en la siguiente rotación
+        return userRepository.findByUsername(previous.getUsername())
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid refresh token")))
+                .flatMap(user -> issueTokens(toAuthentication(user), refreshTokenIssuer.rotate(previous)));
+    }
+
+    private Mono<AuthTokens> issueTokens(Authentication authentication, RefreshTokenIssuer.Issued issued) {
+        return refreshTokenRepository.save(issued.refreshToken())
+                .map(saved -> AuthTokens.builder()
+                        .accessToken(tokenProvider.generateToken(authentication, issued.refreshToken().getFamilyId()))
+                        .refreshToken(issued.value())
+                        .expiresInSeconds(tokenProvider.getTokenValiditySeconds())
+                        .build());
+    }
+
+    private static Authentication toAuthentication(User user) {
+        List<SimpleGrantedAuthority> authorities = user.getRoles() == null ? List.of() : user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getName()))
+                .toList();
+        return new UsernamePasswordAuthenticationToken(user.getUsername(), null, authorities);
     }
 
     @Override
     public Mono<User> register(User user) {
-        // Encriptar la contraseña
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        // Un duplicado se rechaza antes de gastar BCrypt; la restricción única cubre las carreras
+        return userRepository.checkAvailability(user.getUsername(), user.getEmail())
+                .flatMap(availability -> availability.isAvailable()
+                        ? passwordHasher.encode(user.getPassword())
+                        : Mono.error(toConflict(availability)))
+                .flatMap(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    return assignRoles(user);
+                })
+                .flatMap(userRepository::save)
+                .onErrorResume(DuplicateKeyException.class, e -> userRepository
+                        .checkAvailability(user.getUsername(), user.getEmail())
+                        .flatMap(availability -> Mono.<User>error(availability.isAvailable() ? e : toConflict(availability))));
+    }
+
+    @Override
+    public Mono<UserAvailability> checkAvailability(String username, String email) {
+        return userRepository.checkAvailability(username, email);
+    }
 
+    private static UserAlreadyExistsException toConflict(UserAvailability availability) {
+        return new UserAlreadyExistsException(
+                Boolean.FALSE.equals(availability.getUsernameAvailable()),
+                Boolean.FALSE.equals(availability.getEmailAvailable()));
+    }
+
+    @Override
+    public Mono<UserImportResult> importUsers(Flux<UserImportRecord> records) {
+        return Mono.defer(() -> {
+            ImportTally tally = new ImportTally();
+            return records
+                    .doOnNext(record -> tally.received.incrementAndGet())
+                    .flatMapSequential(this::prepareForImport, IMPORT_HASH_CONCURRENCY)
+                    .filter(record -> {
+                        if (record.isRejected()) {
+                            tally.fail(record, record.getError());
+                            return false;
+                        }
+                        return true;
+                    })
+                    .buffer(IMPORT_CHUNK_SIZE)
+                    .concatMap(chunk -> importChunk(chunk, tally))
+                    .then(Mono.fromSupplier(tally::toResult));
+        });
+    }
+
+    private Mono<UserImportRecord> prepareForImport(UserImportRecord record) {
+        if (record.isRejected()) {
+            return Mono.just(record);
+        }
+
+        User user = record.getUser();
+        return assignRoles(user)
+                .flatMap(withRoles -> passwordHasher.encodeInBackground(withRoles.getPassword())
+                        // La cola de importación puede llenarse con varias importaciones a la vez: se espera
+                        .retryWhen(Retry.backoff(5, Duration.ofMillis(20))
+                                .filter(RejectedExecutionException.class::isInstance)))
+                .map(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    return record;
+                })
+                .switchIfEmpty(Mono.fromSupplier(() ->
+                        UserImportRecord.rejected(record.getLineNumber(), user, "Could not resolve roles")))
+                .onErrorResume(e -> Mono.just(
+                        UserImportRecord.rejected(record.getLineNumber(), user, e.getMessage())));
+    }
+
+    private Mono<Void> importChunk(List<UserImportRecord> chunk, ImportTally tally) {
+        List<User> users = chunk.stream().map(UserImportRecord::getUser).toList();
+        return userRepository.saveAll(users)
+                .count()
+                .doOnNext(tally.imported::addAndGet)
+                .then()
+                // Si el lote falla se reintenta registro por registro para aislar los errores
+                .onErrorResume(chunkError -> Flux.fromIterable(chunk)
+                        .concatMap(record -> userRepository.saveAll(List.of(record.getUser()))
+                                .then(Mono.fromRunnable(tally.imported::incrementAndGet))
+                                .onErrorResume(e -> {
+                                    tally.fail(record, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                                    return Mono.empty();
+                                }))
+                        .then());
+    }
+
+    private Mono<User> assignRoles(User user) {
         // Si el usuario ya tiene roles especificados
         if (user.getRoles() != null && !user.getRoles().isEmpty()) {
             // Buscar los roles por nombre y asignarlos al usuario
@@ -50,16 +209,45 @@ public class AuthService implements AuthUseCase {
                     .map(roles -> {
                         user.setRoles(roles);
                         return user;
-                    })
-                    .flatMap(userRepository::save);
+                    });
         } else {
             // Si no se especificaron roles, asignar ROLE_USER por defecto
             return roleRepository.findByName("ROLE_USER")
                     .map(role -> {
                         user.setRoles(new HashSet<>(Collections.singletonList(role)));
                         return user;
-                    })
-                    .flatMap(userRepository::save);
+                    });
+        }
+    }
+
+    private static class ImportTally {
+
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<UserImportFailure> failures = Collections.synchronizedList(new ArrayList<>());
+
+        void fail(UserImportRecord record, String reason) {
+            if (failed.incrementAndGet() <= MAX_REPORTED_IMPORT_FAILURES) {
+                failures.add(UserImportFailure.builder()
+                        .lineNumber(record.getLineNumber())
+                        .username(record.getUser() != null ? record.getUser().getUsername() : null)
+                        .reason(reason)
+                        .build());
+            }
+        }
+
+        UserImportResult toResult() {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            return UserImportResult.builder()
+                    .received(received.get())
+                    .imported(imported.get())
+                    .failed(failed.get())
+                    .failures(List.copyOf(failures))
+                    .elapsedMillis(elapsedMillis)
+                    .usersPerSecond(elapsedMillis > 0 ? imported.get() * 1000.0 / elapsedMillis : imported.get())
+                    .build();
         }
     }
 }
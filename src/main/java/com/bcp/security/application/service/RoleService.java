@@ -0,0 +1,47 @@
+package com.bcp.security.application.service;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.port.in.RoleUseCase;
+import com.bcp.security.domain.port.out.RoleRepository;
+import com.bcp.security.domain.port.out.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RoleService implements RoleUseCase {
+
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public Flux<Role> findAll() {
+        return roleRepository.findAll();
+    }
+
+    @Override
+    public Mono<Void> refreshCatalog() {
+        return roleRepository.refresh();
+    }
+
+    // Ambos devuelven vacío si el rol no existe; los usuarios inexistentes se ignoran
+    @Override
+    public Mono<Long> grantRole(String roleName, List<String> usernames) {
+        return roleRepository.findByName(roleName)
+                .flatMap(role -> userRepository.grantRole(role.getId(), distinct(usernames)));
+    }
+
+    @Override
+    public Mono<Long> revokeRole(String roleName, List<String> usernames) {
+        return roleRepository.findByName(roleName)
+                .flatMap(role -> userRepository.revokeRole(role.getId(), distinct(usernames)));
+    }
+
+    private static List<String> distinct(List<String> usernames) {
+        return usernames.stream().distinct().toList();
+    }
+}
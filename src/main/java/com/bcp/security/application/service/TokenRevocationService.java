@@ -0,0 +1,63 @@
+package com.bcp.security.application.service;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import com.bcp.security.domain.port.in.TokenRevocationUseCase;
+import com.bcp.security.domain.port.out.RefreshTokenRepository;
+import com.bcp.security.domain.port.out.RevocationBus;
+import com.bcp.security.domain.port.out.TokenRevocationRepository;
+import com.bcp.security.infrastructure.security.JwtTokenProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService implements TokenRevocationUseCase {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final RevocationBus revocationBus;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    public Mono<Void> revokeToken(String tokenId, Instant expiresAt) {
+        return record(TokenRevocation.builder()
+                .type(TokenRevocation.Type.TOKEN)
+                .subject(tokenId)
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Override
+    public Mono<Void> logout(String username, String tokenId, Instant expiresAt, String sessionId) {
+        // Los tokens legacy no tienen jti: se revocan todos los del usuario
+        if (tokenId == null) {
+            return revokeUser(username);
+        }
+        return revokeToken(tokenId, expiresAt)
+                .then(sessionId != null
+                        ? refreshTokenRepository.deleteFamily(sessionId)
+                        : refreshTokenRepository.deleteByUsername(username));
+    }
+
+    @Override
+    public Mono<Void> revokeUser(String username) {
+        Instant now = Instant.now();
+        // Pasado el tiempo de vida más largo aceptado (incluidos los legacy) no queda ningún token anterior
+        return record(TokenRevocation.builder()
+                        .type(TokenRevocation.Type.USER)
+                        .subject(username)
+                        .revokedAt(now)
+                        .expiresAt(now.plus(tokenProvider.getLongestAcceptedValidity()))
+                        .build())
+                .then(refreshTokenRepository.deleteByUsername(username));
+    }
+
+    private Mono<Void> record(TokenRevocation revocation) {
+        return tokenRevocationRepository.save(revocation)
+                .then(revocationBus.publish(revocation));
+    }
+}
@@ -1,20 +1,31 @@
 package com.bcp.security.application.service;
 
 import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserBatch;
+import com.bcp.security.domain.model.UserPage;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.domain.model.UserSearchPage;
+import com.bcp.security.domain.port.in.TokenRevocationUseCase;
 import com.bcp.security.domain.port.in.UserUseCase;
+import com.bcp.security.domain.port.out.PasswordHasher;
 import com.bcp.security.domain.port.out.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserUseCase {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TokenRevocationUseCase tokenRevocationUseCase;
 
     @Override
     public Mono<User> findById(Long id) {
@@ -26,25 +37,107 @@ public class UserService implements UserUseCase {
         return userRepository.findByUsername(username);
     }
 
+    @Override
+    public Mono<UserBatch> findAllByIds(List<Long> ids) {
+        List<Long> requested = ids.stream().distinct().toList();
+        return userRepository.findAllByIds(requested)
+                .collectList()
+                .map(users -> {
+                    Set<Long> found = users.stream().map(User::getId).collect(Collectors.toSet());
+                    return UserBatch.builder()
+                            .users(users)
+                            .missingIds(requested.stream().filter(id -> !found.contains(id)).toList())
+                            .build();
+                });
+    }
+
     @Override
     public Flux<User> findAll() {
         return userRepository.findAll();
     }
 
+    @Override
+    public Mono<UserPage> findPage(Long afterId, Integer size) {
+        int pageSize = UserPage.clampSize(size);
+        // Se pide un registro extra para saber si existe una página siguiente
+        return userRepository.findAllAfter(afterId, pageSize + 1)
+                .collectList()
+                .map(users -> {
+                    boolean hasMore = users.size() > pageSize;
+                    List<User> page = hasMore ? users.subList(0, pageSize) : users;
+                    return UserPage.builder()
+                            .users(page)
+                            .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                            .build();
+                });
+    }
+
+    @Override
+    public Mono<UserSearchPage> search(UserSearchCriteria criteria, UserSearchCursor after, Integer size) {
+        int pageSize = UserPage.clampSize(size);
+        return userRepository.search(criteria, after, pageSize + 1)
+                .collectList()
+                .map(users -> {
+                    boolean hasMore = users.size() > pageSize;
+                    List<User> page = hasMore ? users.subList(0, pageSize) : users;
+                    return UserSearchPage.builder()
+                            .users(page)
+                            .nextCursor(hasMore ? UserSearchCursor.after(page.get(page.size() - 1), criteria.order()) : null)
+                            .build();
+                });
+    }
+
+    @Override
+    public Flux<User> searchAll(UserSearchCriteria criteria) {
+        // Igual que la exportación: una página a la vez, pedida cuando la anterior se consumió
+        return search(criteria, null, UserPage.MAX_SIZE)
+                .expand(page -> page.getNextCursor() != null
+                        ? search(criteria, page.getNextCursor(), UserPage.MAX_SIZE)
+                        : Mono.empty())
+                .concatMapIterable(UserSearchPage::getUsers);
+    }
+
+    @Override
+    public Flux<UserPage> exportPages(Long afterId, int pageSize) {
+        // Cada página se pide cuando la anterior ya fue consumida, así la memoria no crece con la tabla
+        return fetchExportPage(afterId, pageSize)
+                .expand(page -> page.getNextCursor() != null
+                        ? fetchExportPage(page.getNextCursor(), pageSize)
+                        : Mono.empty());
+    }
+
     @Override
     public Mono<User> save(User user) {
-        return Mono.just(user)
-                .map(u -> {
-                    if (u.getPassword() != null) {
-                        u.setPassword(passwordEncoder.encode(u.getPassword()));
-                    }
-                    return u;
+        if (user.getPassword() == null) {
+            return userRepository.save(user);
+        }
+        return passwordHasher.encode(user.getPassword())
+                .map(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    return user;
                 })
                 .flatMap(userRepository::save);
     }
 
+    @Override
+    public Mono<Void> updatePasswordHash(String username, String passwordHash) {
+        return userRepository.updatePassword(username, passwordHash);
+    }
+
     @Override
     public Mono<Void> deleteById(Long id) {
-        return userRepository.deleteById(id);
+        // Los tokens ya emitidos dejan de ser válidos antes de borrar al usuario
+        return userRepository.findById(id)
+                .flatMap(user -> tokenRevocationUseCase.revokeUser(user.getUsername()))
+                .then(userRepository.deleteById(id));
+    }
+
+    private Mono<UserPage> fetchExportPage(Long afterId, int pageSize) {
+        return userRepository.findAllAfter(afterId, pageSize)
+                .collectList()
+                .map(users -> UserPage.builder()
+                        .users(users)
+                        .nextCursor(users.size() == pageSize ? users.get(users.size() - 1).getId() : null)
+                        .build());
     }
 }
@@ -0,0 +1,18 @@
+package com.bcp.security.domain.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UserAlreadyExistsException extends RuntimeException {
+
+    private final boolean usernameTaken;
+    private final boolean emailTaken;
+
+    public UserAlreadyExistsException(boolean usernameTaken, boolean emailTaken) {
+        super(usernameTaken && emailTaken ? "Username and email are already registered"
+                : usernameTaken ? "Username is already registered"
+                : "Email is already registered");
+        this.usernameTaken = usernameTaken;
+        this.emailTaken = emailTaken;
+    }
+}
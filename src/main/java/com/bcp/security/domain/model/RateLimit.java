@@ -0,0 +1,10 @@
+package com.bcp.security.domain.model;
+
+import java.time.Duration;
+
+/**
+ * Token bucket holding up to {@code capacity} attempts and refilling all of them over
+ * {@code period}.
+ */
+public record RateLimit(long capacity, Duration period) {
+}
@@ -0,0 +1,26 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Stored state of a refresh token. Only the hash of the token is kept. {@code expiresAt}
+ * bounds this token and {@code familyExpiresAt} bounds the whole rotation chain started at
+ * login; roles are not stored, a refresh reads the user's current ones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    private String tokenHash;
+    private String familyId;
+    private String username;
+    private Instant expiresAt;
+    private Instant familyExpiresAt;
+    private boolean used;
+}
@@ -0,0 +1,21 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+    private String kid;
+    private Long generation;
+    private String algorithm;
+    private String publicKey;
+    private String privateKey;
+    private Instant notBefore;
+}
@@ -0,0 +1,30 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Revokes either a single access token (by its {@code jti}) or every token issued to a user
+ * up to {@code revokedAt}. Kept until {@code expiresAt}, after which every token it could
+ * match has expired on its own.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    public enum Type {
+        TOKEN,
+        USER
+    }
+
+    private Type type;
+    private String subject;
+    private Instant revokedAt;
+    private Instant expiresAt;
+}
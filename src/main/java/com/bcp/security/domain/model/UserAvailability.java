@@ -0,0 +1,22 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Whether a username and an email are still free; a field is null when it was not checked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAvailability {
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+
+    public boolean isAvailable() {
+        return !Boolean.FALSE.equals(usernameAvailable) && !Boolean.FALSE.equals(emailAvailable);
+    }
+}
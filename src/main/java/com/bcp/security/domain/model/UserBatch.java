@@ -0,0 +1,20 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatch {
+
+    public static final int MAX_IDS = 1000;
+
+    private List<User> users;
+    private List<Long> missingIds;
+}
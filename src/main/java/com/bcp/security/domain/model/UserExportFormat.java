@@ -0,0 +1,6 @@
+package com.bcp.security.domain.model;
+
+public enum UserExportFormat {
+    CSV,
+    COLUMNAR
+}
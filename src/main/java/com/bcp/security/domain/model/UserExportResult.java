@@ -0,0 +1,20 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportResult {
+    private String file;
+    private UserExportFormat format;
+    private Long resumedAfterId;
+    private Long lastId;
+    private long exported;
+    private long bytes;
+    private long elapsedMillis;
+}
@@ -0,0 +1,35 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRecord {
+    private long lineNumber;
+    private User user;
+    private String error;
+
+    public static UserImportRecord of(long lineNumber, User user) {
+        return UserImportRecord.builder()
+                .lineNumber(lineNumber)
+                .user(user)
+                .build();
+    }
+
+    public static UserImportRecord rejected(long lineNumber, User user, String error) {
+        return UserImportRecord.builder()
+                .lineNumber(lineNumber)
+                .user(user)
+                .error(error)
+                .build();
+    }
+
+    public boolean isRejected() {
+        return error != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+    private long received;
+    private long imported;
+    private long failed;
+    private List<UserImportFailure> failures;
+    private long elapsedMillis;
+    private double usersPerSecond;
+}
@@ -0,0 +1,51 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a user search; null fields do not filter. {@code createdFrom} is inclusive and
+ * {@code createdTo} exclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchCriteria {
+    private String usernamePrefix;
+    private String emailDomain;
+    private String role;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    /**
+     * Whether at most one filter is set, the creation range counting as one. Only those
+     * searches are served: every filter has an index whose order is the page order, but no
+     * index covers two of them, so a combination would have to check row after row of one
+     * index against the other filter.
+     */
+    public boolean hasSingleFilter() {
+        int filters = (usernamePrefix != null ? 1 : 0)
+                + (emailDomain != null ? 1 : 0)
+                + (role != null ? 1 : 0)
+                + (createdFrom != null || createdTo != null ? 1 : 0);
+        return filters <= 1;
+    }
+
+    /**
+     * Order of the results, the order of the index serving the filter.
+     */
+    public UserSearchOrder order() {
+        if (usernamePrefix != null) {
+            return UserSearchOrder.USERNAME;
+        }
+        if (createdFrom != null || createdTo != null) {
+            return UserSearchOrder.CREATED_AT;
+        }
+        return UserSearchOrder.ID;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bcp.security.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last user of a search page, holding the values of its sort key. It
+ * travels as an opaque string so clients cannot depend on its layout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchCursor {
+    private UserSearchOrder order;
+    private Long id;
+    private String username;
+    private LocalDateTime createdAt;
+
+    public static UserSearchCursor after(User user, UserSearchOrder order) {
+        return UserSearchCursor.builder()
+                .order(order)
+                .id(user.getId())
+                .username(order == UserSearchOrder.USERNAME ? user.getUsername() : null)
+                .createdAt(order == UserSearchOrder.CREATED_AT ? user.getCreatedAt() : null)
+                .build();
+    }
+
+    public String encode() {
+        String value = order.name() + ":" + id;
+        if (order == UserSearchOrder.USERNAME) {
+            value += ":" + username;
+        } else if (order == UserSearchOrder.CREATED_AT) {
+            value += ":" + createdAt;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code encoded} was not produced by {@link #encode()}
+     */
+    public static UserSearchCursor decode(String encoded) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(":", 3);
+            UserSearchOrder order = UserSearchOrder.valueOf(parts[0]);
+            UserSearchCursor cursor = UserSearchCursor.builder()
+                    .order(order)
+                    .id(Long.parseLong(parts[1]))
+                    .build();
+            if (order == UserSearchOrder.USERNAME) {
+                cursor.setUsername(parts[2]);
+            } else if (order == UserSearchOrder.CREATED_AT) {
+                cursor.setCreatedAt(LocalDateTime.parse(parts[2]));
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+}
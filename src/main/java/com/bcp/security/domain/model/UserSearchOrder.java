@@ -0,0 +1,10 @@
+package com.bcp.security.domain.model;
+
+/**
+ * Key a search is paged by, chosen so that it matches the index serving the search.
+ */
+public enum UserSearchOrder {
+    ID,
+    USERNAME,
+    CREATED_AT
+}
@@ -1,9 +1,17 @@
 package com.bcp.security.domain.port.in;
 
+import com.bcp.security.domain.model.AuthTokens;
 import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserImportRecord;
+import com.bcp.security.domain.model.UserImportResult;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface AuthUseCase {
-    Mono<String> login(String username, String password);
+    Mono<AuthTokens> login(String username, String password);
+    Mono<AuthTokens> refresh(String refreshToken);
     Mono<User> register(User user);
+    Mono<UserAvailability> checkAvailability(String username, String email);
+    Mono<UserImportResult> importUsers(Flux<UserImportRecord> records);
 }
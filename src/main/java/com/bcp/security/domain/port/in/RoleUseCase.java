@@ -0,0 +1,14 @@
+package com.bcp.security.domain.port.in;
+
+import com.bcp.security.domain.model.Role;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface RoleUseCase {
+    Flux<Role> findAll();
+    Mono<Void> refreshCatalog();
+    Mono<Long> grantRole(String roleName, List<String> usernames);
+    Mono<Long> revokeRole(String roleName, List<String> usernames);
+}
@@ -0,0 +1,17 @@
+package com.bcp.security.domain.port.in;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface TokenRevocationUseCase {
+    Mono<Void> revokeToken(String tokenId, Instant expiresAt);
+
+    /**
+     * Ends the caller's session: revokes the access token and deletes its refresh family, or
+     * every refresh token of the user when the token does not name its family.
+     */
+    Mono<Void> logout(String username, String tokenId, Instant expiresAt, String sessionId);
+
+    Mono<Void> revokeUser(String username);
+}
@@ -1,13 +1,26 @@
 package com.bcp.security.domain.port.in;
 
 import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserBatch;
+import com.bcp.security.domain.model.UserPage;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.domain.model.UserSearchPage;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface UserUseCase {
     Mono<User> findById(Long id);
     Mono<User> findByUsername(String username);
+    Mono<UserBatch> findAllByIds(List<Long> ids);
     Flux<User> findAll();
+    Mono<UserPage> findPage(Long afterId, Integer size);
+    Mono<UserSearchPage> search(UserSearchCriteria criteria, UserSearchCursor after, Integer size);
+    Flux<User> searchAll(UserSearchCriteria criteria);
+    Flux<UserPage> exportPages(Long afterId, int pageSize);
     Mono<User> save(User user);
+    Mono<Void> updatePasswordHash(String username, String passwordHash);
     Mono<Void> deleteById(Long id);
 }
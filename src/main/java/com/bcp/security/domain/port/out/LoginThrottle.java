@@ -0,0 +1,33 @@
+package com.bcp.security.domain.port.out;
+
+import com.bcp.security.domain.exception.TooManyAttemptsException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Login throttling policy, checked before a password is verified so rejected attempts cost
+ * no hashing work.
+ */
+public interface LoginThrottle {
+
+    /**
+     * Emits {@link Duration#ZERO} when the client may proceed, otherwise how long it has to wait.
+     */
+    Mono<Duration> checkClient(String clientAddress);
+
+    /**
+     * Same as {@link #checkClient} with the separate budget of the availability check.
+     */
+    Mono<Duration> checkAvailabilityClient(String clientAddress);
+
+    /**
+     * Completes empty when the username may attempt a login, otherwise fails with
+     * {@link TooManyAttemptsException}.
+     */
+    Mono<Void> checkUsername(String username);
+
+    Mono<Void> recordFailure(String username);
+
+    Mono<Void> recordSuccess(String username);
+}
@@ -0,0 +1,15 @@
+package com.bcp.security.domain.port.out;
+
+import reactor.core.publisher.Mono;
+
+public interface PasswordHasher {
+    Mono<String> encode(String rawPassword);
+
+    /**
+     * Encodes on capacity reserved for bulk work, so it never takes hashing capacity from
+     * logins and registrations.
+     */
+    Mono<String> encodeInBackground(String rawPassword);
+
+    Mono<Boolean> matches(String rawPassword, String encodedPassword);
+}
@@ -0,0 +1,31 @@
+package com.bcp.security.domain.port.out;
+
+import com.bcp.security.domain.model.RateLimit;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Counters behind login throttling. Implementations backed by a shared store let every node
+ * enforce the same budget.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one attempt from the bucket; emits {@link Duration#ZERO} when allowed, otherwise
+     * how long until the next attempt would be.
+     */
+    Mono<Duration> tryConsume(String key, RateLimit limit);
+
+    /**
+     * Counts a failure in the current window and emits the number of failures in it.
+     */
+    Mono<Long> recordFailure(String key, Duration window);
+
+    Mono<Void> resetFailures(String key);
+
+    Mono<Void> lockUntil(String key, Instant until);
+
+    Mono<Instant> lockedUntil(String key);
+}
@@ -0,0 +1,22 @@
+package com.bcp.security.domain.port.out;
+
+import com.bcp.security.domain.model.RefreshToken;
+
+public interface RefreshTokenIssuer {
+
+    /**
+     * Starts a new family. Its absolute deadline is fixed here and every rotation keeps it.
+     */
+    Issued issue(String familyId, String username);
+
+    /**
+     * Issues the successor of a token in the same family. The new token never outlives the
+     * family deadline, so rotating does not extend a session.
+     */
+    Issued rotate(RefreshToken previous);
+
+    String hash(String value);
+
+    record Issued(String value, RefreshToken refreshToken) {
+    }
+}
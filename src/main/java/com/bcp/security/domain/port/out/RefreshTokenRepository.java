@@ -0,0 +1,12 @@
+package com.bcp.security.domain.port.out;
+
+import com.bcp.security.domain.model.RefreshToken;
+import reactor.core.publisher.Mono;
+
+public interface RefreshTokenRepository {
+    Mono<RefreshToken> findByTokenHash(String tokenHash);
+    Mono<RefreshToken> save(RefreshToken refreshToken);
+    Mono<Boolean> markUsed(String tokenHash);
+    Mono<Void> deleteFamily(String familyId);
+    Mono<Void> deleteByUsername(String username);
+}
@@ -0,0 +1,13 @@
+package com.bcp.security.domain.port.out;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Carries revocations to every node, including the one that issued them.
+ */
+public interface RevocationBus {
+    Mono<Void> publish(TokenRevocation revocation);
+    Flux<TokenRevocation> revocations();
+}
@@ -1,8 +1,12 @@
 package com.bcp.security.domain.port.out;
 
 import com.bcp.security.domain.model.Role;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface RoleRepository {
+    Mono<Role> findById(Long id);
     Mono<Role> findByName(String name);
+    Flux<Role> findAll();
+    Mono<Void> refresh();
 }
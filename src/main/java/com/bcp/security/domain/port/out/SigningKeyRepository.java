@@ -0,0 +1,17 @@
+package com.bcp.security.domain.port.out;
+
+import com.bcp.security.domain.model.SigningKey;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface SigningKeyRepository {
+    Flux<SigningKey> findAll();
+    /**
+     * Stores a new key. Fails with a {@code DuplicateKeyException} if a key of the same
+     * generation already exists, so that concurrent nodes create a single key per generation.
+     */
+    Mono<SigningKey> save(SigningKey signingKey);
+    Mono<Void> deleteByKids(Collection<String> kids);
+}
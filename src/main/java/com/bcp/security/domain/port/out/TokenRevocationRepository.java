@@ -0,0 +1,13 @@
+package com.bcp.security.domain.port.out;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface TokenRevocationRepository {
+    Mono<TokenRevocation> save(TokenRevocation revocation);
+    Flux<TokenRevocation> findActive(Instant now);
+    Mono<Long> deleteExpired(Instant now);
+}
@@ -1,13 +1,26 @@
 package com.bcp.security.domain.port.out;
 
 import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface UserRepository {
     Mono<User> findById(Long id);
     Mono<User> findByUsername(String username);
+    Flux<User> findAllByIds(List<Long> ids);
+    Mono<UserAvailability> checkAvailability(String username, String email);
     Flux<User> findAll();
+    Flux<User> findAllAfter(Long afterId, int limit);
+    Flux<User> search(UserSearchCriteria criteria, UserSearchCursor after, int limit);
     Mono<User> save(User user);
+    Flux<User> saveAll(List<User> users);
+    Mono<Long> grantRole(Long roleId, List<String> usernames);
+    Mono<Long> revokeRole(Long roleId, List<String> usernames);
+    Mono<Void> updatePassword(String username, String encodedPassword);
     Mono<Void> deleteById(Long id);
 }
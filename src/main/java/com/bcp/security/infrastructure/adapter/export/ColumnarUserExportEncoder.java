@@ -0,0 +1,160 @@
+package com.bcp.security.infrastructure.adapter.export;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Compact binary layout, one block per chunk:
+ * <pre>
+ * block     := "UXC1" rowCount:int32 payloadLength:int32 payload   (payload is raw DEFLATE)
+ * payload   := ids usernames emails roles createdAt
+ * ids       := rowCount x varint, delta from the previous id in the block
+ * usernames := rowCount x string
+ * emails    := rowCount x string
+ * roles     := dictionarySize:varint dictionarySize x string
+ *              rowCount x (count:varint count x dictionaryIndex:varint)
+ * createdAt := presence bitmap, ceil(rowCount / 8) bytes, lowest bit first
+ *              per present value: zigzag varint, epoch millis (UTC) delta from the previous one
+ * string    := varint(byteLength + 1) UTF-8 bytes, 0 meaning null
+ * </pre>
+ * Integers are big-endian; varints are unsigned LEB128.
+ */
+class ColumnarUserExportEncoder implements UserExportEncoder {
+
+    static final byte[] MAGIC = "UXC1".getBytes(StandardCharsets.US_ASCII);
+
+    @Override
+    public String fileExtension() {
+        return ".uxc";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    @Override
+    public DataBuffer encode(List<User> users, boolean first, DataBufferFactory bufferFactory) {
+        ByteArrayOutputStream columns = new ByteArrayOutputStream(Math.max(256, users.size() * 48));
+
+        long previousId = 0;
+        for (User user : users) {
+            writeVarint(columns, user.getId() - previousId);
+            previousId = user.getId();
+        }
+        for (User user : users) {
+            writeString(columns, user.getUsername());
+        }
+        for (User user : users) {
+            writeString(columns, user.getEmail());
+        }
+        writeRoles(columns, users);
+        writeCreatedAt(columns, users);
+
+        byte[] payload = deflate(columns.toByteArray());
+        DataBuffer buffer = bufferFactory.allocateBuffer(MAGIC.length + 8 + payload.length);
+        buffer.write(MAGIC);
+        writeInt(buffer, users.size());
+        writeInt(buffer, payload.length);
+        buffer.write(payload);
+        return buffer;
+    }
+
+    private static void writeRoles(ByteArrayOutputStream out, List<User> users) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (User user : users) {
+            if (user.getRoles() != null) {
+                for (Role role : user.getRoles()) {
+                    if (dictionary.putIfAbsent(role.getName(), names.size()) == null) {
+                        names.add(role.getName());
+                    }
+                }
+            }
+        }
+        writeVarint(out, names.size());
+        names.forEach(name -> writeString(out, name));
+        for (User user : users) {
+            if (user.getRoles() == null) {
+                writeVarint(out, 0);
+                continue;
+            }
+            writeVarint(out, user.getRoles().size());
+            for (Role role : user.getRoles()) {
+                writeVarint(out, dictionary.get(role.getName()));
+            }
+        }
+    }
+
+    private static void writeCreatedAt(ByteArrayOutputStream out, List<User> users) {
+        byte[] presence = new byte[(users.size() + 7) / 8];
+        for (int i = 0; i < users.size(); i++) {
+            if (users.get(i).getCreatedAt() != null) {
+                presence[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        out.writeBytes(presence);
+        long previous = 0;
+        for (User user : users) {
+            if (user.getCreatedAt() != null) {
+                long millis = user.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+                long delta = millis - previous;
+                writeVarint(out, (delta << 1) ^ (delta >> 63));
+                previous = millis;
+            }
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeInt(DataBuffer buffer, int value) {
+        buffer.write((byte) (value >>> 24));
+        buffer.write((byte) (value >>> 16));
+        buffer.write((byte) (value >>> 8));
+        buffer.write((byte) value);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
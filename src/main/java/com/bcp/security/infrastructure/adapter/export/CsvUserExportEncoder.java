@@ -0,0 +1,96 @@
+package com.bcp.security.infrastructure.adapter.export;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@code id,username,email,roles,created_at} rows, roles separated by {@code |} as in the CSV
+ * import. Every chunk is a complete gzip member; gzip readers treat concatenated members as
+ * one stream.
+ */
+class CsvUserExportEncoder implements UserExportEncoder {
+
+    static final String HEADER = "id,username,email,roles,created_at";
+
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    @Override
+    public String fileExtension() {
+        return ".csv.gz";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return APPLICATION_GZIP;
+    }
+
+    @Override
+    public DataBuffer encode(List<User> users, boolean first, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(Math.max(256, users.size() * 32));
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(buffer.asOutputStream()), StandardCharsets.UTF_8))) {
+            if (first) {
+                writer.write(HEADER);
+                writer.write('\n');
+            }
+            for (User user : users) {
+                writeRow(writer, user);
+            }
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            if (e instanceof IOException ioException) {
+                throw new UncheckedIOException("Could not encode user export chunk", ioException);
+            }
+            throw (RuntimeException) e;
+        }
+        return buffer;
+    }
+
+    private static void writeRow(Writer writer, User user) throws IOException {
+        writer.write(Long.toString(user.getId()));
+        writer.write(',');
+        writeField(writer, user.getUsername());
+        writer.write(',');
+        writeField(writer, user.getEmail());
+        writer.write(',');
+        if (user.getRoles() != null) {
+            writeField(writer, user.getRoles().stream()
+                    .map(Role::getName)
+                    .sorted()
+                    .collect(Collectors.joining("|")));
+        }
+        writer.write(',');
+        if (user.getCreatedAt() != null) {
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(user.getCreatedAt()));
+        }
+        writer.write('\n');
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
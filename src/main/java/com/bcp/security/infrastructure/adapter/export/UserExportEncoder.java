@@ -0,0 +1,24 @@
+package com.bcp.security.infrastructure.adapter.export;
+
+import com.bcp.security.domain.model.User;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Encodes one keyset page of users as a self-contained chunk, so an export is a plain
+ * concatenation of chunks and can be resumed by appending after the last complete one.
+ */
+interface UserExportEncoder {
+
+    String fileExtension();
+
+    MediaType mediaType();
+
+    /**
+     * @param first whether this chunk starts a new export, and so carries any file header
+     */
+    DataBuffer encode(List<User> users, boolean first, DataBufferFactory bufferFactory);
+}
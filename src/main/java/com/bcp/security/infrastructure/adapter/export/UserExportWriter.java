@@ -0,0 +1,225 @@
+package com.bcp.security.infrastructure.adapter.export;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserExportFormat;
+import com.bcp.security.domain.model.UserExportResult;
+import com.bcp.security.domain.model.UserPage;
+import com.bcp.security.domain.port.in.UserUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Streams users through {@link UserUseCase#exportPages} one keyset page at a time, so memory
+ * is bounded by a page however many users there are. Each page becomes one self-contained
+ * chunk, written either to the HTTP response or to a file under
+ * {@code user-export.directory}. File exports record a checkpoint (last id and file offset)
+ * once each chunk is on disk, and a new export to the same file resumes from it.
+ */
+@Slf4j
+@Component
+public class UserExportWriter {
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,99}");
+
+    private final UserUseCase userUseCase;
+    private final Path directory;
+    private final int pageSize;
+    private final Map<UserExportFormat, UserExportEncoder> encoders = new EnumMap<>(UserExportFormat.class);
+    private final Set<Path> running = ConcurrentHashMap.newKeySet();
+
+    public UserExportWriter(
+            UserUseCase userUseCase,
+            @Value("${user-export.directory}") String directory,
+            @Value("${user-export.page-size}") int pageSize) {
+        this.userUseCase = userUseCase;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.pageSize = pageSize;
+        this.encoders.put(UserExportFormat.CSV, new CsvUserExportEncoder());
+        this.encoders.put(UserExportFormat.COLUMNAR, new ColumnarUserExportEncoder());
+    }
+
+    public MediaType mediaType(UserExportFormat format) {
+        return encoders.get(format).mediaType();
+    }
+
+    public String fileName(String name, UserExportFormat format) {
+        return name + encoders.get(format).fileExtension();
+    }
+
+    public boolean isValidName(String name) {
+        return name != null && FILE_NAME.matcher(name).matches();
+    }
+
+    /**
+     * Chunks for users with an id greater than {@code afterId}; the header, if the format has
+     * one, is only written when starting from the beginning.
+     */
+    public Flux<DataBuffer> stream(UserExportFormat format, Long afterId, DataBufferFactory bufferFactory) {
+        UserExportEncoder encoder = encoders.get(format);
+        boolean fromStart = afterId == null || afterId == 0;
+        return userUseCase.exportPages(afterId, pageSize)
+                .index()
+                .filter(page -> !page.getT2().getUsers().isEmpty() || (fromStart && page.getT1() == 0))
+                .map(page -> encoder.encode(page.getT2().getUsers(), fromStart && page.getT1() == 0, bufferFactory));
+    }
+
+    public Mono<UserExportResult> writeToFile(UserExportFormat format, String name) {
+        if (!isValidName(name)) {
+            return Mono.error(new IllegalArgumentException("Invalid export file name: " + name));
+        }
+        UserExportEncoder encoder = encoders.get(format);
+        Path target = directory.resolve(fileName(name, format));
+        return Mono.using(
+                        () -> ExportFile.open(target, format, running),
+                        file -> userUseCase.exportPages(file.lastId, pageSize)
+                                // Las escrituras bloqueantes van a boundedElastic, una página por vez
+                                .publishOn(Schedulers.boundedElastic(), 1)
+                                .filter(page -> !page.getUsers().isEmpty() || file.offset == 0)
+                                .doOnNext(page -> file.append(page, encoder.encode(page.getUsers(), file.offset == 0,
+                                        DefaultDataBufferFactory.sharedInstance)))
+                                .then(Mono.fromCallable(file::complete)),
+                        ExportFile::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Target file plus its checkpoint. The checkpoint is replaced atomically after the chunk
+     * it describes has been forced to disk, so it never points past durable data.
+     */
+    private static class ExportFile {
+
+        private final Path target;
+        private final Path checkpoint;
+        private final UserExportFormat format;
+        private final Set<Path> running;
+        private final FileChannel channel;
+        private final Long resumedAfterId;
+        private final long startedAt = System.currentTimeMillis();
+
+        private long lastId;
+        private long offset;
+        private long exported;
+
+        private ExportFile(Path target, UserExportFormat format, Set<Path> running, FileChannel channel,
+                           Long resumedAfterId, long lastId, long offset) {
+            this.target = target;
+            this.checkpoint = checkpointOf(target);
+            this.format = format;
+            this.running = running;
+            this.channel = channel;
+            this.resumedAfterId = resumedAfterId;
+            this.lastId = lastId;
+            this.offset = offset;
+        }
+
+        static ExportFile open(Path target, UserExportFormat format, Set<Path> running) throws IOException {
+            if (!running.add(target)) {
+                throw new IllegalStateException("An export to " + target.getFileName() + " is already running");
+            }
+            try {
+                Files.createDirectories(target.getParent());
+                Path checkpoint = checkpointOf(target);
+                if (!Files.exists(checkpoint)) {
+                    FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    return new ExportFile(target, format, running, channel, null, 0, 0);
+                }
+
+                String[] saved = Files.readString(checkpoint, StandardCharsets.US_ASCII).trim().split(" ");
+                long lastId = Long.parseLong(saved[0]);
+                long offset = Long.parseLong(saved[1]);
+                FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE);
+                if (channel.size() < offset) {
+                    channel.close();
+                    throw new IllegalStateException("Export file " + target.getFileName() + " is shorter than its checkpoint");
+                }
+                // Descarta lo que se haya escrito después del último chunk confirmado
+                channel.truncate(offset);
+                channel.position(offset);
+                log.info("Resuming export to {} after user {}", target, lastId);
+                return new ExportFile(target, format, running, channel, lastId, lastId, offset);
+            } catch (IOException | RuntimeException e) {
+                running.remove(target);
+                throw e;
+            }
+        }
+
+        void append(UserPage page, DataBuffer chunk) {
+            try (DataBuffer.ByteBufferIterator buffers = chunk.readableByteBuffers()) {
+                while (buffers.hasNext()) {
+                    ByteBuffer buffer = buffers.next();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                channel.force(false);
+                offset = channel.position();
+
+                List<User> users = page.getUsers();
+                if (!users.isEmpty()) {
+                    lastId = users.get(users.size() - 1).getId();
+                    exported += users.size();
+                }
+                Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+                Files.writeString(temporary, lastId + " " + offset, StandardCharsets.US_ASCII);
+                Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write export chunk to " + target, e);
+            } finally {
+                DataBufferUtils.release(chunk);
+            }
+        }
+
+        UserExportResult complete() throws IOException {
+            Files.deleteIfExists(checkpoint);
+            return UserExportResult.builder()
+                    .file(target.toString())
+                    .format(format)
+                    .resumedAfterId(resumedAfterId)
+                    .lastId(lastId == 0 ? null : lastId)
+                    .exported(exported)
+                    .bytes(offset)
+                    .elapsedMillis(System.currentTimeMillis() - startedAt)
+                    .build();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close export file {}: {}", target, e.getMessage());
+            } finally {
+                running.remove(target);
+            }
+        }
+
+        private static Path checkpointOf(Path target) {
+            return target.resolveSibling(target.getFileName() + ".checkpoint");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bcp.security.infrastructure.adapter.messaging;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import com.bcp.security.domain.port.out.RevocationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Single-node bus: revocations only reach subscribers in this JVM. Other nodes still pick
+ * them up from the database on their next periodic reload; a shared broker implementation
+ * can replace this one through {@code jwt.revocation.bus}.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.bus", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryRevocationBus implements RevocationBus {
+
+    private final Sinks.Many<TokenRevocation> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public Mono<Void> publish(TokenRevocation revocation) {
+        return Mono.fromRunnable(() ->
+                sink.emitNext(revocation, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100))));
+    }
+
+    @Override
+    public Flux<TokenRevocation> revocations() {
+        return sink.asFlux();
+    }
+}
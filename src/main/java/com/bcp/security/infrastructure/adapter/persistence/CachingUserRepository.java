@@ -0,0 +1,268 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.domain.port.out.UserRepository;
+import com.bcp.security.infrastructure.adapter.persistence.routing.ReadRouting;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Cache-aside lookup by username in front of the active persistence adapter
+ * ({@link UserRepositoryAdapter}, or the JDBC one under the {@code jdbc} profile), which is
+ * what every login goes through. Concurrent misses for the same username share one load,
+ * unknown usernames are remembered for a shorter time so enumeration attempts do not reach
+ * MySQL, and every write through this port invalidates the affected entries once it has
+ * completed. Availability checks, which sign-up forms send on every keystroke, are cached the
+ * same way per username and per email. Cache fills always read the primary, so a lagging
+ * replica can never pin a stale user or answer for the whole TTL.
+ */
+@Primary
+@Component
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final ReadRouting readRouting;
+    private final AsyncCache<String, Optional<User>> usersByUsername;
+    private final Cache<String, Boolean> takenByKey;
+
+    public CachingUserRepository(
+            UserRepository delegate,
+            ReadRouting readRouting,
+            MeterRegistry meterRegistry,
+            @Value("${users.cache.max-size}") long maxSize,
+            @Value("${users.cache.ttl}") long ttlInMilliseconds,
+            @Value("${users.cache.negative-ttl}") long negativeTtlInMilliseconds,
+            @Value("${users.cache.availability-ttl}") long availabilityTtlInMilliseconds,
+            @Value("${users.cache.availability-negative-ttl}") long availabilityNegativeTtlInMilliseconds) {
+        this.delegate = delegate;
+        this.readRouting = readRouting;
+        this.usersByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PositiveOrNegativeTtl<Optional<User>>(
+                        ttlInMilliseconds, negativeTtlInMilliseconds, Optional::isPresent))
+                .recordStats()
+                .buildAsync();
+        this.takenByKey = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PositiveOrNegativeTtl<Boolean>(
+                        availabilityTtlInMilliseconds, availabilityNegativeTtlInMilliseconds, Boolean::booleanValue))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByUsername, "users.by-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, takenByKey, "users.availability");
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return Mono.defer(() -> {
+            CompletableFuture<Optional<User>> cached = usersByUsername.get(key(username), (key, executor) ->
+                    readRouting.onPrimary(delegate.findByUsername(username))
+                            .map(Optional::of)
+                            .defaultIfEmpty(Optional.empty())
+                            .toFuture());
+            // Cancelar a un suscriptor no debe cancelar la carga compartida con los demás
+            return Mono.fromFuture(cached, true);
+        }).flatMap(user -> Mono.justOrEmpty(user.map(CachingUserRepository::copyOf)));
+    }
+
+    @Override
+    public Flux<User> findAllByIds(List<Long> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    @Override
+    public Mono<UserAvailability> checkAvailability(String username, String email) {
+        Boolean usernameTaken = username != null ? takenByKey.getIfPresent(usernameKey(username)) : null;
+        Boolean emailTaken = email != null ? takenByKey.getIfPresent(emailKey(email)) : null;
+        if ((username == null || usernameTaken != null) && (email == null || emailTaken != null)) {
+            return Mono.just(UserAvailability.builder()
+                    .usernameAvailable(usernameTaken != null ? !usernameTaken : null)
+                    .emailAvailable(emailTaken != null ? !emailTaken : null)
+                    .build());
+        }
+        return readRouting.onPrimary(delegate.checkAvailability(username, email))
+                .doOnNext(availability -> {
+                    if (availability.getUsernameAvailable() != null) {
+                        takenByKey.put(usernameKey(username), !availability.getUsernameAvailable());
+                    }
+                    if (availability.getEmailAvailable() != null) {
+                        takenByKey.put(emailKey(email), !availability.getEmailAvailable());
+                    }
+                });
+    }
+
+    @Override
+    public Flux<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<User> findAllAfter(Long afterId, int limit) {
+        return delegate.findAllAfter(afterId, limit);
+    }
+
+    @Override
+    public Flux<User> search(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        return delegate.search(criteria, after, limit);
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user)
+                // Antes de propagar el error: quien recomprueba tras un duplicado debe ver la fila que lo causó
+                .doOnError(e -> invalidateAvailability(user.getUsername(), user.getEmail()))
+                .doFinally(signal -> {
+                    invalidate(user.getId(), user.getUsername());
+                    invalidateAvailability(user.getUsername(), user.getEmail());
+                });
+    }
+
+    @Override
+    public Flux<User> saveAll(List<User> users) {
+        return delegate.saveAll(users)
+                .doFinally(signal -> users.forEach(user -> {
+                    invalidate(null, user.getUsername());
+                    invalidateAvailability(user.getUsername(), user.getEmail());
+                }));
+    }
+
+    @Override
+    public Mono<Long> grantRole(Long roleId, List<String> usernames) {
+        return delegate.grantRole(roleId, usernames)
+                .doFinally(signal -> usernames.forEach(this::invalidateUsername));
+    }
+
+    @Override
+    public Mono<Long> revokeRole(Long roleId, List<String> usernames) {
+        return delegate.revokeRole(roleId, usernames)
+                .doFinally(signal -> usernames.forEach(this::invalidateUsername));
+    }
+
+    @Override
+    public Mono<Void> updatePassword(String username, String encodedPassword) {
+        return delegate.updatePassword(username, encodedPassword)
+                .doFinally(signal -> invalidate(null, username));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return delegate.deleteById(id)
+                .doFinally(signal -> {
+                    invalidate(id, null);
+                    // No se conocen el username ni el email del usuario borrado
+                    takenByKey.invalidateAll();
+                });
+    }
+
+    /**
+     * Drops everything cached under the username, user and availability alike.
+     */
+    private void invalidateUsername(String username) {
+        invalidate(null, username);
+        invalidateAvailability(username, null);
+    }
+
+    /**
+     * Drops the entry for the username and, when an id is known, any entry holding that user
+     * under a previous username.
+     */
+    private void invalidate(Long id, String username) {
+        if (username != null) {
+            usersByUsername.synchronous().invalidate(key(username));
+        }
+        if (id != null) {
+            usersByUsername.synchronous().asMap().values()
+                    .removeIf(cached -> cached.map(user -> id.equals(user.getId())).orElse(false));
+        }
+    }
+
+    private void invalidateAvailability(String username, String email) {
+        if (username != null) {
+            takenByKey.invalidate(usernameKey(username));
+        }
+        if (email != null) {
+            takenByKey.invalidate(emailKey(email));
+        }
+    }
+
+    private static String key(String username) {
+        // MySQL compara los usernames sin distinguir mayúsculas
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String usernameKey(String username) {
+        return "username:" + key(username);
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Callers are free to mutate what they get back, so the cached instance is never handed out.
+     */
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .email(user.getEmail())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .roles(user.getRoles() != null ? new HashSet<>(user.getRoles()) : null)
+                .build();
+    }
+
+    private static class PositiveOrNegativeTtl<V> implements Expiry<String, V> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+        private final Predicate<V> positive;
+
+        PositiveOrNegativeTtl(long ttlInMilliseconds, long negativeTtlInMilliseconds, Predicate<V> positive) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlInMilliseconds);
+            this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlInMilliseconds);
+            this.positive = positive;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, V value, long currentTime) {
+            return positive.test(value) ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
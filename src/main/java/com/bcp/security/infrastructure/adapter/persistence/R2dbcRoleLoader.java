@@ -0,0 +1,26 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.infrastructure.adapter.persistence.mapper.RoleMapper;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcRoleRepository;
+import com.bcp.security.infrastructure.adapter.persistence.routing.ReadRouting;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+@Component
+@Profile("!jdbc")
+@RequiredArgsConstructor
+public class R2dbcRoleLoader implements RoleLoader {
+
+    private final R2dbcRoleRepository roleRepository;
+    private final RoleMapper roleMapper;
+    private final ReadRouting readRouting;
+
+    @Override
+    public Flux<Role> loadAll() {
+        return readRouting.read(roleRepository.findAll())
+                .map(roleMapper::toDomain);
+    }
+}
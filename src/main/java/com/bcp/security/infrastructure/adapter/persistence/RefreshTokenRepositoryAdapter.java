@@ -0,0 +1,61 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.RefreshToken;
+import com.bcp.security.domain.port.out.RefreshTokenRepository;
+import com.bcp.security.infrastructure.adapter.persistence.entity.RefreshTokenEntity;
+import com.bcp.security.infrastructure.adapter.persistence.mapper.RefreshTokenMapper;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcRefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepository {
+
+    private final R2dbcRefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenMapper refreshTokenMapper;
+
+    @Override
+    public Mono<RefreshToken> findByTokenHash(String tokenHash) {
+        return refreshTokenRepository.findById(tokenHash)
+                .map(refreshTokenMapper::toDomain);
+    }
+
+    @Override
+    public Mono<RefreshToken> save(RefreshToken refreshToken) {
+        RefreshTokenEntity entity = refreshTokenMapper.toEntity(refreshToken);
+        return refreshTokenRepository.insert(entity.getTokenHash(), entity.getFamilyId(), entity.getUsername(),
+                        entity.getExpiresAt(), entity.getFamilyExpiresAt())
+                .thenReturn(refreshToken);
+    }
+
+    @Override
+    public Mono<Boolean> markUsed(String tokenHash) {
+        return refreshTokenRepository.markUsed(tokenHash)
+                .map(updated -> updated == 1);
+    }
+
+    @Override
+    public Mono<Void> deleteFamily(String familyId) {
+        return refreshTokenRepository.deleteByFamilyId(familyId).then();
+    }
+
+    @Override
+    public Mono<Void> deleteByUsername(String username) {
+        return refreshTokenRepository.deleteByUsername(username).then();
+    }
+
+    @Scheduled(
+            initialDelayString = "${jwt.refresh.purge-interval}",
+            fixedDelayString = "${jwt.refresh.purge-interval}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(System.currentTimeMillis())
+                .subscribe(
+                        deleted -> log.debug("Purged {} expired refresh tokens", deleted),
+                        e -> log.warn("Could not purge expired refresh tokens: {}", e.getMessage()));
+    }
+}
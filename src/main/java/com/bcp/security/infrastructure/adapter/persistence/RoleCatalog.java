@@ -0,0 +1,138 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * In-memory copy of the roles table, indexed by id and by name. Loaded when the application
+ * is ready, retrying until it succeeds, and readiness stays out of service until then (see
+ * {@code RoleCatalogHealthIndicator}); afterwards it is refreshed on a fixed delay and on
+ * demand. Lookups only hit the database while the catalog has never been loaded. Every
+ * snapshot carries a version fingerprinting its ids and names, identical on every node that
+ * loaded the same rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleCatalog {
+
+    private static final Duration WARM_UP_MIN_BACKOFF = Duration.ofMillis(500);
+    private static final Duration WARM_UP_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final RoleLoader roleLoader;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public Mono<Role> findById(Long id) {
+        return current().mapNotNull(current -> current.byId().get(id));
+    }
+
+    public Mono<Role> findByName(String name) {
+        return current().mapNotNull(current -> current.byName().get(name));
+    }
+
+    public Flux<Role> findAll() {
+        return current().flatMapIterable(current -> current.byId().values());
+    }
+
+    /**
+     * Snapshot for synchronous callers on the request path. While the catalog has never been
+     * loaded this returns null and starts loading it in the background.
+     */
+    public Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public Mono<Void> refresh() {
+        return roleLoader.loadAll()
+                .collectList()
+                .doOnNext(roles -> {
+                    snapshot = Snapshot.of(roles);
+                    log.debug("Role catalog loaded with {} roles", roles.size());
+                })
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        // Sin catálogo los tokens con máscara de roles no se pueden decodificar: se reintenta hasta cargarlo
+        refresh()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, WARM_UP_MIN_BACKOFF)
+                        .maxBackoff(WARM_UP_MAX_BACKOFF)
+                        .filter(e -> snapshot == null)
+                        .doBeforeRetry(signal -> log.warn("Could not load role catalog, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe(null, e -> log.warn("Could not refresh role catalog: {}", e.getMessage()));
+    }
+
+    @Scheduled(
+            initialDelayString = "${roles.catalog.refresh-interval}",
+            fixedDelayString = "${roles.catalog.refresh-interval}")
+    public void scheduledRefresh() {
+        refreshInBackground();
+    }
+
+    public void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresh()
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(null, e -> log.warn("Could not refresh role catalog: {}", e.getMessage()));
+    }
+
+    private Mono<Snapshot> current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return Mono.just(current);
+        }
+        return refresh().then(Mono.fromSupplier(() -> snapshot));
+    }
+
+    public record Snapshot(long version, Map<Long, Role> byId, Map<String, Role> byName) {
+
+        public static Snapshot of(List<Role> roles) {
+            Map<Long, Role> byId = new LinkedHashMap<>();
+            Map<String, Role> byName = new HashMap<>();
+            CRC32 fingerprint = new CRC32();
+            roles.stream()
+                    .sorted(Comparator.comparing(Role::getId))
+                    .forEach(role -> {
+                        byId.put(role.getId(), role);
+                        byName.put(role.getName(), role);
+                        fingerprint.update((role.getId() + ":" + role.getName() + ";").getBytes(StandardCharsets.UTF_8));
+                    });
+            return new Snapshot(fingerprint.getValue(),
+                    Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.Role;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reads the whole roles table for {@link RoleCatalog}, with whichever persistence engine is
+ * active.
+ */
+public interface RoleLoader {
+    Flux<Role> loadAll();
+}
@@ -0,0 +1,43 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.SigningKey;
+import com.bcp.security.domain.port.out.SigningKeyRepository;
+import com.bcp.security.infrastructure.adapter.persistence.entity.SigningKeyEntity;
+import com.bcp.security.infrastructure.adapter.persistence.mapper.SigningKeyMapper;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcSigningKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+public class SigningKeyRepositoryAdapter implements SigningKeyRepository {
+
+    private final R2dbcSigningKeyRepository signingKeyRepository;
+    private final SigningKeyMapper signingKeyMapper;
+
+    @Override
+    public Flux<SigningKey> findAll() {
+        return signingKeyRepository.findAll()
+                .map(signingKeyMapper::toDomain);
+    }
+
+    @Override
+    public Mono<SigningKey> save(SigningKey signingKey) {
+        SigningKeyEntity entity = signingKeyMapper.toEntity(signingKey);
+        return signingKeyRepository.insert(entity.getKid(), entity.getGeneration(), entity.getAlgorithm(),
+                        entity.getPublicKey(), entity.getPrivateKey(), entity.getNotBefore())
+                .thenReturn(signingKey);
+    }
+
+    @Override
+    public Mono<Void> deleteByKids(Collection<String> kids) {
+        if (kids.isEmpty()) {
+            return Mono.empty();
+        }
+        return signingKeyRepository.deleteByKidIn(kids).then();
+    }
+}
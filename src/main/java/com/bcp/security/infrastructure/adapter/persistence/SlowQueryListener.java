@@ -0,0 +1,61 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.ProxyConnectionFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Times every statement executed through the R2DBC connection factory and reports the
+ * ones slower than {@code r2dbc.slow-query-threshold}. Registered through Boot's
+ * r2dbc-proxy support, so it wraps the pooled factory used by all persistence adapters.
+ */
+@Slf4j
+@Component
+public class SlowQueryListener implements ProxyExecutionListener, ProxyConnectionFactoryCustomizer {
+
+    private final Duration threshold;
+    private final Timer queryTimer;
+    private final Counter slowQueryCounter;
+
+    public SlowQueryListener(
+            @Value("${r2dbc.slow-query-threshold}") long thresholdInMilliseconds,
+            MeterRegistry meterRegistry) {
+        this.threshold = Duration.ofMillis(thresholdInMilliseconds);
+        this.queryTimer = Timer.builder("r2dbc.query")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.slowQueryCounter = meterRegistry.counter("r2dbc.query.slow");
+    }
+
+    @Override
+    public void customize(ProxyConnectionFactory.Builder builder) {
+        builder.listener(this);
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        Duration elapsed = execInfo.getExecuteDuration();
+        queryTimer.record(elapsed);
+        if (elapsed.compareTo(threshold) < 0) {
+            return;
+        }
+
+        slowQueryCounter.increment();
+        String sql = execInfo.getQueries().stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        log.warn("Slow query ({} ms, success={}, batch={}): {}",
+                elapsed.toMillis(), execInfo.isSuccess(), execInfo.getBatchSize(), sql);
+    }
+}
@@ -0,0 +1,46 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import com.bcp.security.domain.port.out.TokenRevocationRepository;
+import com.bcp.security.infrastructure.adapter.persistence.entity.TokenRevocationEntity;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcTokenRevocationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRepositoryAdapter implements TokenRevocationRepository {
+
+    private final R2dbcTokenRevocationRepository tokenRevocationRepository;
+
+    @Override
+    public Mono<TokenRevocation> save(TokenRevocation revocation) {
+        return tokenRevocationRepository.upsert(TokenRevocationEntity.builder()
+                        .kind(revocation.getType().name())
+                        .subject(revocation.getSubject())
+                        .revokedAt(revocation.getRevokedAt().toEpochMilli())
+                        .expiresAt(revocation.getExpiresAt().toEpochMilli())
+                        .build())
+                .thenReturn(revocation);
+    }
+
+    @Override
+    public Flux<TokenRevocation> findActive(Instant now) {
+        return tokenRevocationRepository.findActive(now.toEpochMilli())
+                .map(entity -> TokenRevocation.builder()
+                        .type(TokenRevocation.Type.valueOf(entity.getKind()))
+                        .subject(entity.getSubject())
+                        .revokedAt(Instant.ofEpochMilli(entity.getRevokedAt()))
+                        .expiresAt(Instant.ofEpochMilli(entity.getExpiresAt()))
+                        .build());
+    }
+
+    @Override
+    public Mono<Long> deleteExpired(Instant now) {
+        return tokenRevocationRepository.deleteExpired(now.toEpochMilli());
+    }
+}
@@ -0,0 +1,143 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
+import com.bcp.security.infrastructure.adapter.persistence.mapper.UserMapper;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcUserQueryRepository;
+import com.bcp.security.infrastructure.adapter.persistence.routing.ReadRouting;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads users by id in the manner of a DataLoader: lookups arriving within
+ * {@code users.batch-lookup.window} of each other are merged into one batch, read with join
+ * queries of at most {@value #IN_LIST_SIZE} ids each, and every caller picks its own users out
+ * of the shared result. Ids requested by overlapping callers are read once.
+ * <p>
+ * The batch is read on a subscription of its own, outside the Reactor context of any caller.
+ * A caller inside a transaction therefore does not get its transaction's connection, and does
+ * not see rows it has written but not yet committed; a caller that needs those has to read
+ * them another way, such as {@link UserRepositoryAdapter#findById}.
+ */
+@Component
+public class UserBatchLoader {
+
+    private static final int IN_LIST_SIZE = 500;
+
+    private final R2dbcUserQueryRepository userQueryRepository;
+    private final UserMapper userMapper;
+    private final ReadRouting readRouting;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final DistributionSummary batchIds;
+    private final DistributionSummary batchRequests;
+
+    private Batch pending;
+
+    public UserBatchLoader(
+            R2dbcUserQueryRepository userQueryRepository,
+            UserMapper userMapper,
+            ReadRouting readRouting,
+            MeterRegistry meterRegistry,
+            @Value("${users.batch-lookup.window}") long windowInMilliseconds,
+            @Value("${users.batch-lookup.max-batch-size}") int maxBatchSize) {
+        this.userQueryRepository = userQueryRepository;
+        this.userMapper = userMapper;
+        this.readRouting = readRouting;
+        this.window = Duration.ofMillis(windowInMilliseconds);
+        this.maxBatchSize = maxBatchSize;
+        this.batchIds = DistributionSummary.builder("users.batch-lookup.ids")
+                .description("Distinct ids read per coalesced batch")
+                .register(meterRegistry);
+        this.batchRequests = DistributionSummary.builder("users.batch-lookup.requests")
+                .description("Lookups served per coalesced batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Users with the given ids, in the order of {@code ids}; ids that do not exist are skipped.
+     */
+    public Flux<User> load(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return Mono.defer(() -> enqueue(ids))
+                .flatMapMany(loaded -> Flux.fromIterable(ids)
+                        .mapNotNull(loaded::get));
+    }
+
+    private Mono<Map<Long, User>> enqueue(Collection<Long> ids) {
+        Batch batch;
+        boolean opened = false;
+        boolean full;
+        synchronized (this) {
+            if (pending == null) {
+                pending = new Batch();
+                opened = true;
+            }
+            batch = pending;
+            batch.ids.addAll(ids);
+            batch.requests++;
+            full = batch.ids.size() >= maxBatchSize;
+            if (full) {
+                pending = null;
+            }
+        }
+
+        if (full) {
+            dispatch(batch);
+        } else if (opened) {
+            Mono.delay(window).subscribe(tick -> flush(batch));
+        }
+        return batch.result.asMono();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            // Si ya se despachó por llegar al tamaño máximo, otro lote puede estar pendiente
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Runs independently of the callers, so one of them cancelling does not fail the others.
+     */
+    private void dispatch(Batch batch) {
+        List<Long> ids = List.copyOf(batch.ids);
+        batchIds.record(ids.size());
+        batchRequests.record(batch.requests);
+        Flux.fromIterable(ids)
+                .buffer(IN_LIST_SIZE)
+                .concatMap(chunk -> readRouting.read(toUsers(userQueryRepository.findAllByIds(chunk)),
+                        chunk.stream().map(UserRepositoryAdapter::userKey).toList()))
+                .collectMap(User::getId)
+                .subscribe(batch.result::tryEmitValue, batch.result::tryEmitError);
+    }
+
+    private Flux<User> toUsers(Flux<UserRoleRow> rows) {
+        return rows.bufferUntilChanged(UserRoleRow::getUserId)
+                .map(userMapper::toDomain);
+    }
+
+    private static class Batch {
+        private final Set<Long> ids = new HashSet<>();
+        private final Sinks.One<Map<Long, User>> result = Sinks.one();
+        private int requests;
+    }
+}
@@ -2,48 +2,93 @@ package com.bcp.security.infrastructure.adapter.persistence;
 
 import com.bcp.security.domain.model.Role;
 import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
 import com.bcp.security.domain.port.out.UserRepository;
 import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
 import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
 import com.bcp.security.infrastructure.adapter.persistence.mapper.UserMapper;
-import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcRoleRepository;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcUserBatchRepository;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcUserQueryRepository;
 import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcUserRepository;
 import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcUserRoleRepository;
+import com.bcp.security.infrastructure.adapter.persistence.routing.ReadRouting;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
+@Profile("!jdbc")
 @RequiredArgsConstructor
 public class UserRepositoryAdapter implements UserRepository {
 
+    private static final int ROLE_ASSIGNMENT_BATCH_SIZE = 1000;
+
     private final R2dbcUserRepository userRepository;
-    private final R2dbcRoleRepository roleRepository;
+    private final R2dbcUserQueryRepository userQueryRepository;
     private final R2dbcUserRoleRepository userRoleRepository;
+    private final R2dbcUserBatchRepository userBatchRepository;
+    private final UserBatchLoader userBatchLoader;
     private final UserMapper userMapper;
+    private final ReadRouting readRouting;
 
     @Override
     public Mono<User> findById(Long id) {
-        return userRepository.findById(id)
-                .flatMap(this::enrichWithRoles);
+        return readRouting.read(toUsers(userQueryRepository.findById(id)).next(), userKey(id));
     }
 
     @Override
     public Mono<User> findByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .flatMap(this::enrichWithRoles);
+        return readRouting.read(toUsers(userQueryRepository.findByUsername(username)).next(), usernameKey(username));
+    }
+
+    @Override
+    public Flux<User> findAllByIds(List<Long> ids) {
+        return userBatchLoader.load(ids);
+    }
+
+    @Override
+    public Mono<UserAvailability> checkAvailability(String username, String email) {
+        List<String> keys = new ArrayList<>(2);
+        if (username != null) {
+            keys.add(usernameKey(username));
+        }
+        if (email != null) {
+            keys.add(emailKey(email));
+        }
+        return readRouting.read(userQueryRepository.checkAvailability(username, email), keys);
     }
 
+    // Listados y búsquedas toleran el retraso de las réplicas: no hay una clave que fijar
     @Override
     public Flux<User> findAll() {
-        return userRepository.findAll()
-                .flatMap(this::enrichWithRoles);
+        return readRouting.read(toUsers(userQueryRepository.findAll()));
+    }
+
+    @Override
+    public Flux<User> findAllAfter(Long afterId, int limit) {
+        return readRouting.read(toUsers(userQueryRepository.findAllAfter(afterId != null ? afterId : 0L, limit)));
+    }
+
+    @Override
+    public Flux<User> search(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        return readRouting.read(toUsers(userQueryRepository.search(criteria, after, limit)));
     }
 
     @Override
@@ -58,49 +103,149 @@ public class UserRepositoryAdapter implements UserRepository {
             userEntity.setUpdatedAt(LocalDateTime.now());
         }
 
+        boolean isNew = userEntity.getId() == null;
         return userRepository.save(userEntity)
-                .flatMap(savedUser -> {
-                    if (user.getRoles() != null && !user.getRoles().isEmpty()) {
-                        return Flux.fromIterable(user.getRoles())
-                                .flatMap(role -> userRoleRepository.save(
-                                        UserRoleEntity.builder()
-                                                .userId(savedUser.getId())
-                                                .roleId(role.getId())
-                                                .build()
-                                ))
-                                .then(Mono.just(savedUser));
+                .flatMap(savedUser -> user.getRoles() == null
+                        ? Mono.just(savedUser)
+                        : syncRoles(savedUser.getId(), isNew, user.getRoles()).thenReturn(savedUser))
+                .flatMap(savedUser -> findById(savedUser.getId()))
+                .doOnNext(this::written);
+    }
+
+    @Override
+    @Transactional
+    public Flux<User> saveAll(List<User> users) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UserEntity> userEntities = users.stream()
+                .map(user -> {
+                    UserEntity userEntity = userMapper.toEntity(user);
+                    userEntity.setCreatedAt(now);
+                    userEntity.setUpdatedAt(now);
+                    return userEntity;
+                })
+                .toList();
+
+        return userBatchRepository.insertUsers(userEntities)
+                .then(userBatchRepository.findIdsByUsernames(users.stream().map(User::getUsername).toList()))
+                .flatMapMany(idsByUsername -> {
+                    List<UserRoleEntity> userRoles = new ArrayList<>();
+                    for (User user : users) {
+                        user.setId(idsByUsername.get(user.getUsername()));
+                        user.setCreatedAt(now);
+                        user.setUpdatedAt(now);
+                        if (user.getRoles() != null) {
+                            user.getRoles().forEach(role -> userRoles.add(UserRoleEntity.builder()
+                                    .userId(user.getId())
+                                    .roleId(role.getId())
+                                    .build()));
+                        }
                     }
-                    return Mono.just(savedUser);
+                    return userBatchRepository.insertUserRoles(userRoles)
+                            .thenMany(Flux.fromIterable(users));
                 })
-                .flatMap(this::enrichWithRoles);
+                .doOnNext(this::written);
+    }
+
+    @Override
+    @Transactional
+    public Mono<Long> grantRole(Long roleId, List<String> usernames) {
+        return changeRole(usernames, userIds -> userBatchRepository.grantRole(roleId, userIds));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Long> revokeRole(Long roleId, List<String> usernames) {
+        return changeRole(usernames, userIds -> userBatchRepository.revokeRole(roleId, userIds));
+    }
+
+    @Override
+    public Mono<Void> updatePassword(String username, String encodedPassword) {
+        return userRepository.updatePasswordByUsername(username, encodedPassword)
+                .doOnSuccess(updated -> readRouting.written(usernameKey(username)))
+                .then();
     }
 
     @Override
     @Transactional
     public Mono<Void> deleteById(Long id) {
-        return userRoleRepository.findRoleIdsByUserId(id)
-                .flatMap(roleId -> userRoleRepository.delete(
-                        UserRoleEntity.builder()
-                                .userId(id)
-                                .roleId(roleId)
-                                .build()
-                ))
+        return userRepository.findById(id)
+                .doOnNext(userEntity -> readRouting.written(userKey(id),
+                        usernameKey(userEntity.getUsername()), emailKey(userEntity.getEmail())))
+                .then(userBatchRepository.deleteAllUserRoles(id))
                 .then(userRepository.deleteById(id));
     }
 
-    private Mono<User> enrichWithRoles(UserEntity userEntity) {
-        return userRoleRepository.findRoleIdsByUserId(userEntity.getId())
-                .flatMap(roleId -> roleRepository.findById(roleId))
-                .map(roleEntity -> Role.builder()
-                        .id(roleEntity.getId())
-                        .name(roleEntity.getName())
-                        .build())
-                .collectList()
-                .map(HashSet::new)
-                .map(roles -> {
-                    User user = userMapper.toDomain(userEntity);
-                    user.setRoles(roles);
-                    return user;
-                });
+    /**
+     * Applies a role change in batches of usernames, resolving each batch to ids first so that
+     * reads by id of every affected user, and not only by username, stay on the primary.
+     */
+    private Mono<Long> changeRole(List<String> usernames, Function<Collection<Long>, Mono<Long>> change) {
+        List<String> keys = new ArrayList<>();
+        return Flux.fromIterable(usernames)
+                .buffer(ROLE_ASSIGNMENT_BATCH_SIZE)
+                .concatMap(batch -> userBatchRepository.findIdsByUsernames(batch)
+                        .flatMap(idsByUsername -> {
+                            idsByUsername.forEach((username, id) -> {
+                                keys.add(userKey(id));
+                                keys.add(usernameKey(username));
+                            });
+                            return change.apply(idsByUsername.values());
+                        }))
+                .reduce(0L, Long::sum)
+                .doOnSuccess(changed -> readRouting.written(keys));
+    }
+
+    /**
+     * Makes the stored roles match {@code roles} with at most one multi-row INSERT and one
+     * DELETE, leaving rows that are already right untouched.
+     */
+    private Mono<Void> syncRoles(Long userId, boolean isNew, Set<Role> roles) {
+        Set<Long> desired = roles.stream()
+                .map(Role::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Mono<Set<Long>> current = isNew
+                ? Mono.just(Set.of())
+                : userRoleRepository.findRoleIdsByUserId(userId).collect(Collectors.toSet());
+
+        return current.flatMap(existing -> {
+            Set<Long> removed = new HashSet<>(existing);
+            removed.removeAll(desired);
+            List<UserRoleEntity> added = desired.stream()
+                    .filter(roleId -> !existing.contains(roleId))
+                    .map(roleId -> UserRoleEntity.builder()
+                            .userId(userId)
+                            .roleId(roleId)
+                            .build())
+                    .toList();
+            return userBatchRepository.deleteUserRoles(userId, removed)
+                    .then(userBatchRepository.insertUserRoles(added))
+                    .then();
+        });
+    }
+
+    /**
+     * Keeps reads of this user on the primary for the read-your-writes window.
+     */
+    private void written(User user) {
+        readRouting.written(userKey(user.getId()), usernameKey(user.getUsername()), emailKey(user.getEmail()));
+    }
+
+    static String userKey(Long id) {
+        return "user:" + id;
+    }
+
+    // MySQL compara usuarios y emails sin distinguir mayúsculas
+    private static String usernameKey(String username) {
+        return "username:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private Flux<User> toUsers(Flux<UserRoleRow> rows) {
+        return rows.bufferUntilChanged(UserRoleRow::getUserId)
+                .map(userMapper::toDomain);
     }
 }
@@ -0,0 +1,23 @@
+package com.bcp.security.infrastructure.adapter.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("refresh_tokens")
+public class RefreshTokenEntity {
+    @Id
+    private String tokenHash;
+    private String familyId;
+    private String username;
+    private Long expiresAt;
+    private Long familyExpiresAt;
+    private Boolean used;
+}
@@ -0,0 +1,23 @@
+package com.bcp.security.infrastructure.adapter.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("signing_keys")
+public class SigningKeyEntity {
+    @Id
+    private String kid;
+    private Long generation;
+    private String algorithm;
+    private String publicKey;
+    private String privateKey;
+    private Long notBefore;
+}
@@ -0,0 +1,17 @@
+package com.bcp.security.infrastructure.adapter.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationEntity {
+    private String kind;
+    private String subject;
+    private Long revokedAt;
+    private Long expiresAt;
+}
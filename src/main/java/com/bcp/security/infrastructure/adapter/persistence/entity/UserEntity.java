@@ -23,6 +23,9 @@ public class UserEntity {
     private String password;
     private String email;
 
+    @Column("email_domain")
+    private String emailDomain;
+
     @Column("created_at")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,27 @@
+package com.bcp.security.infrastructure.adapter.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of users ⋈ user_roles ⋈ roles: one row per (user, role) pair,
+ * with null role columns for users that have no roles.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRoleRow {
+    private Long userId;
+    private String username;
+    private String password;
+    private String email;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long roleId;
+    private String roleName;
+}
@@ -0,0 +1,112 @@
+package com.bcp.security.infrastructure.adapter.persistence.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking JDBC calls off the Netty event loop and bridges them into {@link Mono} and
+ * {@link Flux}. On a runtime with virtual threads every call gets its own virtual thread and
+ * waits for a pooled connection without pinning a carrier; otherwise a fixed pool of platform
+ * threads is used. Either way at most {@code maxInFlight} calls are accepted at once, and work
+ * beyond that fails fast with a {@link RejectedExecutionException} instead of queueing.
+ */
+@Slf4j
+public class JdbcExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public JdbcExecutor(boolean virtualThreads, int platformThreads, int maxInFlight, MeterRegistry meterRegistry) {
+        ExecutorService virtual = virtualThreads ? virtualThreadPerTaskExecutor() : null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(platformThreads, new JdbcThreadFactory());
+        this.permits = new Semaphore(maxInFlight);
+        log.info("JDBC calls run on {}", virtual != null ? "virtual threads" : platformThreads + " platform threads");
+
+        String threads = virtual != null ? "virtual" : "platform";
+        this.rejected = Counter.builder("jdbc.executor.rejected")
+                .description("JDBC calls rejected because too many were in flight")
+                .tag("threads", threads)
+                .register(meterRegistry);
+        Gauge.builder("jdbc.executor.in-flight", permits, p -> maxInFlight - p.availablePermits())
+                .description("JDBC calls running or waiting for a thread or connection")
+                .tag("threads", threads)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> call(Callable<T> work) {
+        return Mono.create(sink -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                sink.error(new RejectedExecutionException("Too many JDBC calls in flight"));
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        sink.success(work.call());
+                    } catch (Throwable e) {
+                        sink.error(e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                sink.error(e);
+            }
+        });
+    }
+
+    /**
+     * Results are read completely on the executor thread, which releases the connection
+     * before anything is emitted, so callers must bound what {@code work} returns.
+     */
+    public <T> Flux<T> stream(Callable<List<T>> work) {
+        return call(work).flatMapIterable(results -> results);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up reflectively so the code
+     * still compiles for Java 17; null when the runtime has no virtual threads.
+     */
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads are not available on Java {}", Runtime.version().feature());
+            return null;
+        }
+    }
+
+    private static class JdbcThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "jdbc-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
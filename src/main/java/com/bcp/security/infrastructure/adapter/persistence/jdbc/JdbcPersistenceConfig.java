@@ -0,0 +1,71 @@
+package com.bcp.security.infrastructure.adapter.persistence.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Blocking engine for the user and role ports, for deployments that can only reach the
+ * database through JDBC. Boot's DataSource and JDBC transaction manager auto-configuration is
+ * excluded so that outside this profile nothing changes, and so that {@code @Transactional}
+ * keeps resolving to the single R2DBC transaction manager; JDBC transactions run through a
+ * {@link TransactionTemplate} on the executor thread instead.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("jdbc")
+public class JdbcPersistenceConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource jdbcDataSource(
+            @Value("${jdbc.datasource.url}") String url,
+            @Value("${jdbc.datasource.username}") String username,
+            @Value("${jdbc.datasource.password:}") String password,
+            @Value("${jdbc.datasource.maximum-pool-size}") int maximumPoolSize,
+            @Value("${jdbc.datasource.minimum-idle}") int minimumIdle,
+            @Value("${jdbc.datasource.connection-timeout}") long connectionTimeout,
+            @Value("${jdbc.datasource.max-lifetime}") long maxLifetime,
+            @Value("${jdbc.datasource.idle-timeout}") long idleTimeout) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("jdbc");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(minimumIdle);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setMaxLifetime(maxLifetime);
+        config.setIdleTimeout(idleTimeout);
+        // Start without connecting, like the R2DBC pool
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public NamedParameterJdbcTemplate namedParameterJdbcTemplate(HikariDataSource jdbcDataSource) {
+        return new NamedParameterJdbcTemplate(jdbcDataSource);
+    }
+
+    @Bean
+    public TransactionTemplate jdbcTransactionTemplate(HikariDataSource jdbcDataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(jdbcDataSource));
+    }
+
+    @Bean
+    public JdbcExecutor jdbcExecutor(
+            @Value("${jdbc.executor.virtual-threads}") boolean virtualThreads,
+            @Value("${jdbc.executor.platform-threads}") int platformThreads,
+            @Value("${jdbc.executor.max-in-flight}") int maxInFlight,
+            @Value("${jdbc.datasource.maximum-pool-size}") int maximumPoolSize,
+            MeterRegistry meterRegistry) {
+        // More threads than connections would only add threads blocked waiting for the pool
+        return new JdbcExecutor(virtualThreads, platformThreads > 0 ? platformThreads : maximumPoolSize,
+                maxInFlight, meterRegistry);
+    }
+}
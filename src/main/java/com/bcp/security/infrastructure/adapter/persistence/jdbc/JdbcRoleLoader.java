@@ -0,0 +1,31 @@
+package com.bcp.security.infrastructure.adapter.persistence.jdbc;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.infrastructure.adapter.persistence.RoleLoader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Loads the role catalog over JDBC; {@code RoleRepositoryAdapter} keeps serving the role port
+ * from that catalog whichever engine filled it.
+ */
+@Component
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class JdbcRoleLoader implements RoleLoader {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcExecutor jdbcExecutor;
+
+    @Override
+    public Flux<Role> loadAll() {
+        return jdbcExecutor.stream(() -> jdbcTemplate.query("SELECT id, name FROM roles",
+                (rs, rowNum) -> Role.builder()
+                        .id(rs.getLong("id"))
+                        .name(rs.getString("name"))
+                        .build()));
+    }
+}
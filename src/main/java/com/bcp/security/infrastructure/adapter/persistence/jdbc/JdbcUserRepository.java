@@ -0,0 +1,208 @@
+package com.bcp.security.infrastructure.adapter.persistence.jdbc;
+
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
+import com.bcp.security.infrastructure.adapter.persistence.repository.UserQueries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Blocking counterpart of the R2DBC user repositories: the same statements, run through
+ * {@link NamedParameterJdbcTemplate}. Multi-row writes are sent as JDBC batches, which the
+ * MySQL driver folds into multi-row statements when {@code rewriteBatchedStatements} is on.
+ * Must only be called from {@link JdbcExecutor} threads.
+ */
+@Repository
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class JdbcUserRepository {
+
+    private static final String[] ID_COLUMN = {"id"};
+
+    private static final RowMapper<UserRoleRow> USER_ROLE_ROW = (rs, rowNum) -> UserRoleRow.builder()
+            .userId(rs.getLong("id"))
+            .username(rs.getString("username"))
+            .password(rs.getString("password"))
+            .email(rs.getString("email"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .roleId(rs.getObject("role_id", Long.class))
+            .roleName(rs.getString("role_name"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<UserRoleRow> findById(Long id) {
+        return jdbcTemplate.query(UserQueries.SELECT_USERS_WITH_ROLES + "WHERE u.id = :id",
+                Map.of("id", id), USER_ROLE_ROW);
+    }
+
+    public List<UserRoleRow> findByUsername(String username) {
+        return jdbcTemplate.query(UserQueries.SELECT_USERS_WITH_ROLES + "WHERE u.username = :username",
+                Map.of("username", username), USER_ROLE_ROW);
+    }
+
+    public List<UserRoleRow> findAllByIds(Collection<Long> ids) {
+        return jdbcTemplate.query(UserQueries.SELECT_USERS_WITH_ROLES + "WHERE u.id IN (:ids)\nORDER BY u.id",
+                Map.of("ids", ids), USER_ROLE_ROW);
+    }
+
+    public List<UserRoleRow> findAll() {
+        return jdbcTemplate.query(UserQueries.SELECT_USERS_WITH_ROLES + "ORDER BY u.id", USER_ROLE_ROW);
+    }
+
+    public List<UserRoleRow> findAllAfter(long afterId, int limit) {
+        return jdbcTemplate.query(UserQueries.SELECT_USER_PAGE_WITH_ROLES,
+                Map.of("afterId", afterId, "limit", limit), USER_ROLE_ROW);
+    }
+
+    public UserAvailability checkAvailability(String username, String email) {
+        UserQueries.Query query = UserQueries.availability(username, email);
+        if (query == null) {
+            return new UserAvailability();
+        }
+        List<String> taken = jdbcTemplate.query(query.sql(), query.bindings(),
+                (rs, rowNum) -> rs.getString("taken").trim());
+        return UserQueries.toAvailability(username, email, taken);
+    }
+
+    public List<UserRoleRow> search(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        UserQueries.Query query = UserQueries.search(criteria, after, limit);
+        return jdbcTemplate.query(query.sql(), query.bindings(), USER_ROLE_ROW);
+    }
+
+    public Long insertUser(UserEntity user) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update("""
+                        INSERT INTO users (username, password, email, email_domain, created_at, updated_at)
+                        VALUES (:username, :password, :email, :emailDomain, :createdAt, :updatedAt)
+                        """,
+                userParameters(user), keyHolder, ID_COLUMN);
+        return keyHolder.getKey().longValue();
+    }
+
+    public void updateUser(UserEntity user) {
+        jdbcTemplate.update("""
+                        UPDATE users
+                        SET username = :username, password = :password, email = :email,
+                            email_domain = :emailDomain, updated_at = :updatedAt
+                        WHERE id = :id
+                        """,
+                userParameters(user).addValue("id", user.getId()));
+    }
+
+    /**
+     * Inserts all users in one batch and returns their generated ids in input order.
+     */
+    public List<Long> insertUsers(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        SqlParameterSource[] batch = users.stream()
+                .map(JdbcUserRepository::userParameters)
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO users (username, password, email, email_domain, created_at, updated_at)
+                        VALUES (:username, :password, :email, :emailDomain, :createdAt, :updatedAt)
+                        """,
+                batch, keyHolder, ID_COLUMN);
+        List<Long> ids = new ArrayList<>(users.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    public Set<Long> findRoleIdsByUserId(Long userId) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT role_id FROM user_roles WHERE user_id = :userId",
+                Map.of("userId", userId), Long.class));
+    }
+
+    public void insertUserRoles(List<UserRoleEntity> userRoles) {
+        if (userRoles.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = userRoles.stream()
+                .map(userRole -> new MapSqlParameterSource()
+                        .addValue("userId", userRole.getUserId())
+                        .addValue("roleId", userRole.getRoleId()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)", batch);
+    }
+
+    public void deleteUserRoles(Long userId, Collection<Long> roleIds) {
+        if (roleIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = :userId AND role_id IN (:roleIds)",
+                Map.of("userId", userId, "roleIds", roleIds));
+    }
+
+    public void deleteUser(Long id) {
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = :id", Map.of("id", id));
+        jdbcTemplate.update("DELETE FROM users WHERE id = :id", Map.of("id", id));
+    }
+
+    /**
+     * Grants the role to every listed user that exists and does not have it yet.
+     */
+    public long grantRole(Long roleId, Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("""
+                        INSERT INTO user_roles (user_id, role_id)
+                        SELECT u.id, :roleId FROM users u
+                        WHERE u.username IN (:usernames)
+                          AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)
+                        """,
+                Map.of("roleId", roleId, "usernames", usernames));
+    }
+
+    public long revokeRole(Long roleId, Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("""
+                        DELETE FROM user_roles
+                        WHERE role_id = :roleId
+                          AND user_id IN (SELECT id FROM users WHERE username IN (:usernames))
+                        """,
+                Map.of("roleId", roleId, "usernames", usernames));
+    }
+
+    public void updatePassword(String username, String encodedPassword) {
+        jdbcTemplate.update("UPDATE users SET password = :password WHERE username = :username",
+                Map.of("password", encodedPassword, "username", username));
+    }
+
+    private static MapSqlParameterSource userParameters(UserEntity user) {
+        return new MapSqlParameterSource()
+                .addValue("username", user.getUsername())
+                .addValue("password", user.getPassword())
+                .addValue("email", user.getEmail())
+                .addValue("emailDomain", user.getEmailDomain())
+                .addValue("createdAt", user.getCreatedAt())
+                .addValue("updatedAt", user.getUpdatedAt());
+    }
+}
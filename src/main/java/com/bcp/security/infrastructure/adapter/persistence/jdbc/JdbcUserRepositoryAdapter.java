@@ -0,0 +1,233 @@
+package com.bcp.security.infrastructure.adapter.persistence.jdbc;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.domain.port.out.UserRepository;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
+import com.bcp.security.infrastructure.adapter.persistence.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link UserRepository} on JDBC, selected with the {@code jdbc} profile. Every port method is
+ * one blocking call on the {@link JdbcExecutor}; writes that touch several tables run in one
+ * JDBC transaction on that same thread. Reads that can return many users are split into
+ * bounded chunks or keyset pages, since each call is read completely before it is emitted.
+ */
+@Component
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class JdbcUserRepositoryAdapter implements UserRepository {
+
+    private static final int IN_LIST_SIZE = 500;
+    private static final int FIND_ALL_PAGE_SIZE = 1000;
+    private static final int ROLE_ASSIGNMENT_BATCH_SIZE = 1000;
+
+    private final JdbcUserRepository userRepository;
+    private final JdbcExecutor jdbcExecutor;
+    private final TransactionTemplate jdbcTransactionTemplate;
+    private final UserMapper userMapper;
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return jdbcExecutor.call(() -> toUser(userRepository.findById(id)));
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return jdbcExecutor.call(() -> toUser(userRepository.findByUsername(username)));
+    }
+
+    @Override
+    public Flux<User> findAllByIds(List<Long> ids) {
+        return Flux.fromIterable(new HashSet<>(ids))
+                .buffer(IN_LIST_SIZE)
+                .concatMap(chunk -> jdbcExecutor.stream(() -> toUsers(userRepository.findAllByIds(chunk))))
+                .collectMap(User::getId)
+                .flatMapMany(loaded -> Flux.fromIterable(ids)
+                        .mapNotNull(loaded::get));
+    }
+
+    @Override
+    public Mono<UserAvailability> checkAvailability(String username, String email) {
+        return jdbcExecutor.call(() -> userRepository.checkAvailability(username, email));
+    }
+
+    /**
+     * Keyset pages of {@value #FIND_ALL_PAGE_SIZE} users, so memory stays bounded; unlike the
+     * single streamed R2DBC query, pages are separate statements.
+     */
+    @Override
+    public Flux<User> findAll() {
+        return page(0L)
+                .expand(users -> users.size() < FIND_ALL_PAGE_SIZE
+                        ? Mono.empty()
+                        : page(users.get(users.size() - 1).getId()))
+                .flatMapIterable(users -> users);
+    }
+
+    @Override
+    public Flux<User> findAllAfter(Long afterId, int limit) {
+        return jdbcExecutor.stream(() -> toUsers(userRepository.findAllAfter(afterId != null ? afterId : 0L, limit)));
+    }
+
+    @Override
+    public Flux<User> search(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        return jdbcExecutor.stream(() -> toUsers(userRepository.search(criteria, after, limit)));
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return jdbcExecutor.call(() -> jdbcTransactionTemplate.execute(status -> {
+            UserEntity userEntity = userMapper.toEntity(user);
+            LocalDateTime now = LocalDateTime.now();
+            boolean isNew = userEntity.getId() == null;
+            userEntity.setUpdatedAt(now);
+            if (isNew) {
+                userEntity.setCreatedAt(now);
+                userEntity.setId(userRepository.insertUser(userEntity));
+            } else {
+                userRepository.updateUser(userEntity);
+            }
+            if (user.getRoles() != null) {
+                syncRoles(userEntity.getId(), isNew, user.getRoles());
+            }
+            return toUser(userRepository.findById(userEntity.getId()));
+        }));
+    }
+
+    @Override
+    public Flux<User> saveAll(List<User> users) {
+        return jdbcExecutor.stream(() -> jdbcTransactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<UserEntity> userEntities = users.stream()
+                    .map(user -> {
+                        UserEntity userEntity = userMapper.toEntity(user);
+                        userEntity.setCreatedAt(now);
+                        userEntity.setUpdatedAt(now);
+                        return userEntity;
+                    })
+                    .toList();
+
+            List<Long> ids = userRepository.insertUsers(userEntities);
+            List<UserRoleEntity> userRoles = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(ids.get(i));
+                user.setCreatedAt(now);
+                user.setUpdatedAt(now);
+                if (user.getRoles() != null) {
+                    user.getRoles().forEach(role -> userRoles.add(UserRoleEntity.builder()
+                            .userId(user.getId())
+                            .roleId(role.getId())
+                            .build()));
+                }
+            }
+            userRepository.insertUserRoles(userRoles);
+            return users;
+        }));
+    }
+
+    @Override
+    public Mono<Long> grantRole(Long roleId, List<String> usernames) {
+        return jdbcExecutor.call(() -> jdbcTransactionTemplate.execute(status -> {
+            long changed = 0;
+            for (int from = 0; from < usernames.size(); from += ROLE_ASSIGNMENT_BATCH_SIZE) {
+                changed += userRepository.grantRole(roleId,
+                        usernames.subList(from, Math.min(from + ROLE_ASSIGNMENT_BATCH_SIZE, usernames.size())));
+            }
+            return changed;
+        }));
+    }
+
+    @Override
+    public Mono<Long> revokeRole(Long roleId, List<String> usernames) {
+        return jdbcExecutor.call(() -> jdbcTransactionTemplate.execute(status -> {
+            long changed = 0;
+            for (int from = 0; from < usernames.size(); from += ROLE_ASSIGNMENT_BATCH_SIZE) {
+                changed += userRepository.revokeRole(roleId,
+                        usernames.subList(from, Math.min(from + ROLE_ASSIGNMENT_BATCH_SIZE, usernames.size())));
+            }
+            return changed;
+        }));
+    }
+
+    @Override
+    public Mono<Void> updatePassword(String username, String encodedPassword) {
+        return jdbcExecutor.call(() -> {
+            userRepository.updatePassword(username, encodedPassword);
+            return null;
+        }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return jdbcExecutor.call(() -> {
+            jdbcTransactionTemplate.executeWithoutResult(status -> userRepository.deleteUser(id));
+            return null;
+        }).then();
+    }
+
+    private Mono<List<User>> page(long afterId) {
+        return jdbcExecutor.call(() -> toUsers(userRepository.findAllAfter(afterId, FIND_ALL_PAGE_SIZE)));
+    }
+
+    /**
+     * Same diff as the R2DBC adapter: one batch of inserts and one DELETE at most.
+     */
+    private void syncRoles(Long userId, boolean isNew, Set<Role> roles) {
+        Set<Long> desired = roles.stream()
+                .map(Role::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existing = isNew ? Set.of() : userRepository.findRoleIdsByUserId(userId);
+
+        Set<Long> removed = new HashSet<>(existing);
+        removed.removeAll(desired);
+        List<UserRoleEntity> added = desired.stream()
+                .filter(roleId -> !existing.contains(roleId))
+                .map(roleId -> UserRoleEntity.builder()
+                        .userId(userId)
+                        .roleId(roleId)
+                        .build())
+                .toList();
+        userRepository.deleteUserRoles(userId, removed);
+        userRepository.insertUserRoles(added);
+    }
+
+    private User toUser(List<UserRoleRow> rows) {
+        return rows.isEmpty() ? null : userMapper.toDomain(rows);
+    }
+
+    /**
+     * Groups consecutive rows of the same user, as the queries return them ordered by user.
+     */
+    private List<User> toUsers(List<UserRoleRow> rows) {
+        List<User> users = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            if (i == rows.size() || !rows.get(i).getUserId().equals(rows.get(start).getUserId())) {
+                users.add(userMapper.toDomain(rows.subList(start, i)));
+                start = i;
+            }
+        }
+        return users;
+    }
+}
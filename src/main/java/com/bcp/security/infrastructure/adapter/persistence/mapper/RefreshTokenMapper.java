@@ -0,0 +1,33 @@
+package com.bcp.security.infrastructure.adapter.persistence.mapper;
+
+import com.bcp.security.domain.model.RefreshToken;
+import com.bcp.security.infrastructure.adapter.persistence.entity.RefreshTokenEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+public class RefreshTokenMapper {
+
+    public RefreshToken toDomain(RefreshTokenEntity entity) {
+        return RefreshToken.builder()
+                .tokenHash(entity.getTokenHash())
+                .familyId(entity.getFamilyId())
+                .username(entity.getUsername())
+                .expiresAt(Instant.ofEpochMilli(entity.getExpiresAt()))
+                .familyExpiresAt(Instant.ofEpochMilli(entity.getFamilyExpiresAt()))
+                .used(Boolean.TRUE.equals(entity.getUsed()))
+                .build();
+    }
+
+    public RefreshTokenEntity toEntity(RefreshToken domain) {
+        return RefreshTokenEntity.builder()
+                .tokenHash(domain.getTokenHash())
+                .familyId(domain.getFamilyId())
+                .username(domain.getUsername())
+                .expiresAt(domain.getExpiresAt().toEpochMilli())
+                .familyExpiresAt(domain.getFamilyExpiresAt().toEpochMilli())
+                .used(domain.isUsed())
+                .build();
+    }
+}
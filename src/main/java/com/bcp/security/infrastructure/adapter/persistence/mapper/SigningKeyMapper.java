@@ -0,0 +1,33 @@
+package com.bcp.security.infrastructure.adapter.persistence.mapper;
+
+import com.bcp.security.domain.model.SigningKey;
+import com.bcp.security.infrastructure.adapter.persistence.entity.SigningKeyEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+public class SigningKeyMapper {
+
+    public SigningKey toDomain(SigningKeyEntity entity) {
+        return SigningKey.builder()
+                .kid(entity.getKid())
+                .generation(entity.getGeneration())
+                .algorithm(entity.getAlgorithm())
+                .publicKey(entity.getPublicKey())
+                .privateKey(entity.getPrivateKey())
+                .notBefore(Instant.ofEpochMilli(entity.getNotBefore()))
+                .build();
+    }
+
+    public SigningKeyEntity toEntity(SigningKey domain) {
+        return SigningKeyEntity.builder()
+                .kid(domain.getKid())
+                .generation(domain.getGeneration())
+                .algorithm(domain.getAlgorithm())
+                .publicKey(domain.getPublicKey())
+                .privateKey(domain.getPrivateKey())
+                .notBefore(domain.getNotBefore().toEpochMilli())
+                .build();
+    }
+}
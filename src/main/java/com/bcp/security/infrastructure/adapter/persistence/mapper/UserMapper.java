@@ -1,9 +1,16 @@
 package com.bcp.security.infrastructure.adapter.persistence.mapper;
 
+import com.bcp.security.domain.model.Role;
 import com.bcp.security.domain.model.User;
 import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
 import org.springframework.stereotype.Component;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
 @Component
 public class UserMapper {
 
@@ -18,14 +25,48 @@ public class UserMapper {
                 .build();
     }
 
+    public User toDomain(List<UserRoleRow> rows) {
+        UserRoleRow first = rows.get(0);
+        Set<Role> roles = new HashSet<>();
+        for (UserRoleRow row : rows) {
+            if (row.getRoleId() != null) {
+                roles.add(Role.builder()
+                        .id(row.getRoleId())
+                        .name(row.getRoleName())
+                        .build());
+            }
+        }
+
+        return User.builder()
+                .id(first.getUserId())
+                .username(first.getUsername())
+                .password(first.getPassword())
+                .email(first.getEmail())
+                .createdAt(first.getCreatedAt())
+                .updatedAt(first.getUpdatedAt())
+                .roles(roles)
+                .build();
+    }
+
     public UserEntity toEntity(User domain) {
         return UserEntity.builder()
                 .id(domain.getId())
                 .username(domain.getUsername())
                 .password(domain.getPassword())
                 .email(domain.getEmail())
+                .emailDomain(emailDomain(domain.getEmail()))
                 .createdAt(domain.getCreatedAt())
                 .updatedAt(domain.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * Part after the last '@', lower-cased, stored on its own so searches by domain use an index.
+     */
+    public static String emailDomain(String email) {
+        if (email == null) {
+            return null;
+        }
+        return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
 }
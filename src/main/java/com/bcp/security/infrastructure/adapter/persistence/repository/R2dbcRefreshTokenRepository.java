@@ -0,0 +1,31 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.infrastructure.adapter.persistence.entity.RefreshTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface R2dbcRefreshTokenRepository extends R2dbcRepository<RefreshTokenEntity, String> {
+
+    @Modifying
+    @Query("INSERT INTO refresh_tokens (token_hash, family_id, username, expires_at, family_expires_at, used) "
+            + "VALUES (:tokenHash, :familyId, :username, :expiresAt, :familyExpiresAt, FALSE)")
+    Mono<Integer> insert(String tokenHash, String familyId, String username, Long expiresAt, Long familyExpiresAt);
+
+    @Modifying
+    @Query("UPDATE refresh_tokens SET used = TRUE WHERE token_hash = :tokenHash AND used = FALSE")
+    Mono<Integer> markUsed(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE family_id = :familyId")
+    Mono<Integer> deleteByFamilyId(String familyId);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE username = :username")
+    Mono<Integer> deleteByUsername(String username);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE expires_at < :now")
+    Mono<Integer> deleteExpired(Long now);
+}
@@ -0,0 +1,22 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.infrastructure.adapter.persistence.entity.SigningKeyEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface R2dbcSigningKeyRepository extends R2dbcRepository<SigningKeyEntity, String> {
+
+    @Modifying
+    @Query("INSERT INTO signing_keys (kid, generation, algorithm, public_key, private_key, not_before) "
+            + "VALUES (:kid, :generation, :algorithm, :publicKey, :privateKey, :notBefore)")
+    Mono<Integer> insert(String kid, Long generation, String algorithm, String publicKey, String privateKey,
+                         Long notBefore);
+
+    @Modifying
+    @Query("DELETE FROM signing_keys WHERE kid IN (:kids)")
+    Mono<Integer> deleteByKidIn(Collection<String> kids);
+}
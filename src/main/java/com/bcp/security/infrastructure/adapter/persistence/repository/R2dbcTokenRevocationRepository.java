@@ -0,0 +1,51 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.infrastructure.adapter.persistence.entity.TokenRevocationEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Revocations are keyed by (kind, subject), so revoking the same user twice only moves its
+ * cut-off forward.
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcTokenRevocationRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Long> upsert(TokenRevocationEntity revocation) {
+        return databaseClient.sql("INSERT INTO token_revocations (kind, subject, revoked_at, expires_at) "
+                        + "VALUES (:kind, :subject, :revokedAt, :expiresAt) "
+                        + "ON DUPLICATE KEY UPDATE revoked_at = :revokedAt, expires_at = :expiresAt")
+                .bind("kind", revocation.getKind())
+                .bind("subject", revocation.getSubject())
+                .bind("revokedAt", revocation.getRevokedAt())
+                .bind("expiresAt", revocation.getExpiresAt())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<TokenRevocationEntity> findActive(long now) {
+        return databaseClient.sql("SELECT kind, subject, revoked_at, expires_at FROM token_revocations "
+                        + "WHERE expires_at > :now")
+                .bind("now", now)
+                .map(row -> TokenRevocationEntity.builder()
+                        .kind(row.get("kind", String.class))
+                        .subject(row.get("subject", String.class))
+                        .revokedAt(row.get("revoked_at", Long.class))
+                        .expiresAt(row.get("expires_at", Long.class))
+                        .build())
+                .all();
+    }
+
+    public Mono<Long> deleteExpired(long now) {
+        return databaseClient.sql("DELETE FROM token_revocations WHERE expires_at <= :now")
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+}
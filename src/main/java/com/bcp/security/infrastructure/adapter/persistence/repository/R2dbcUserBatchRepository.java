@@ -0,0 +1,126 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Set-based statements for bulk writes. Each call issues a single statement regardless of how
+ * many rows it carries, so callers are expected to chunk their input.
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcUserBatchRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Long> insertUsers(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < users.size(); i++) {
+            values.add("(:username" + i + ", :password" + i + ", :email" + i + ", :emailDomain" + i
+                    + ", :createdAt" + i + ", :updatedAt" + i + ")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "INSERT INTO users (username, password, email, email_domain, created_at, updated_at) VALUES " + values);
+        for (int i = 0; i < users.size(); i++) {
+            UserEntity user = users.get(i);
+            spec = spec.bind("username" + i, user.getUsername())
+                    .bind("password" + i, user.getPassword())
+                    .bind("email" + i, user.getEmail())
+                    .bind("emailDomain" + i, user.getEmailDomain())
+                    .bind("createdAt" + i, user.getCreatedAt())
+                    .bind("updatedAt" + i, user.getUpdatedAt());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Map<String, Long>> findIdsByUsernames(Collection<String> usernames) {
+        return databaseClient.sql("SELECT id, username FROM users WHERE username IN (:usernames)")
+                .bind("usernames", usernames)
+                .map(row -> Map.entry(row.get("username", String.class), row.get("id", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    public Mono<Long> insertUserRoles(List<UserRoleEntity> userRoles) {
+        if (userRoles.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < userRoles.size(); i++) {
+            values.add("(:userId" + i + ", :roleId" + i + ")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "INSERT INTO user_roles (user_id, role_id) VALUES " + values);
+        for (int i = 0; i < userRoles.size(); i++) {
+            UserRoleEntity userRole = userRoles.get(i);
+            spec = spec.bind("userId" + i, userRole.getUserId())
+                    .bind("roleId" + i, userRole.getRoleId());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteUserRoles(Long userId, Collection<Long> roleIds) {
+        if (roleIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql("DELETE FROM user_roles WHERE user_id = :userId AND role_id IN (:roleIds)")
+                .bind("userId", userId)
+                .bind("roleIds", roleIds)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteAllUserRoles(Long userId) {
+        return databaseClient.sql("DELETE FROM user_roles WHERE user_id = :userId")
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Grants the role to every listed user that does not have it yet. Callers resolve the ids
+     * with {@link #findIdsByUsernames} so they know which users the change can affect.
+     */
+    public Mono<Long> grantRole(Long roleId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql("""
+                        INSERT INTO user_roles (user_id, role_id)
+                        SELECT u.id, :roleId FROM users u
+                        WHERE u.id IN (:userIds)
+                          AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)
+                        """)
+                .bind("roleId", roleId)
+                .bind("userIds", userIds)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> revokeRole(Long roleId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql("DELETE FROM user_roles WHERE role_id = :roleId AND user_id IN (:userIds)")
+                .bind("roleId", roleId)
+                .bind("userIds", userIds)
+                .fetch()
+                .rowsUpdated();
+    }
+}
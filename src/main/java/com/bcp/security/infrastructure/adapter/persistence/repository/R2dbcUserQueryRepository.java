@@ -0,0 +1,105 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Join-based read path for users and their roles. Every query is ordered by user id so
+ * callers can group consecutive rows into aggregates while streaming.
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcUserQueryRepository {
+
+    private static final int STREAM_FETCH_SIZE = 256;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<UserRoleRow> findById(Long id) {
+        return databaseClient.sql(UserQueries.SELECT_USERS_WITH_ROLES + "WHERE u.id = :id")
+                .bind("id", id)
+                .map(this::toRow)
+                .all();
+    }
+
+    public Flux<UserRoleRow> findByUsername(String username) {
+        return databaseClient.sql(UserQueries.SELECT_USERS_WITH_ROLES + "WHERE u.username = :username")
+                .bind("username", username)
+                .map(this::toRow)
+                .all();
+    }
+
+    public Flux<UserRoleRow> findAllByIds(Collection<Long> ids) {
+        return databaseClient.sql(UserQueries.SELECT_USERS_WITH_ROLES + "WHERE u.id IN (:ids)\nORDER BY u.id")
+                .bind("ids", ids)
+                .map(this::toRow)
+                .all();
+    }
+
+    public Flux<UserRoleRow> findAll() {
+        return databaseClient.sql(UserQueries.SELECT_USERS_WITH_ROLES + "ORDER BY u.id")
+                .filter((statement, next) -> next.execute(statement.fetchSize(STREAM_FETCH_SIZE)))
+                .map(this::toRow)
+                .all();
+    }
+
+    public Flux<UserRoleRow> findAllAfter(long afterId, int limit) {
+        return databaseClient.sql(UserQueries.SELECT_USER_PAGE_WITH_ROLES)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(this::toRow)
+                .all();
+    }
+
+    public Mono<UserAvailability> checkAvailability(String username, String email) {
+        UserQueries.Query query = UserQueries.availability(username, email);
+        if (query == null) {
+            return Mono.just(new UserAvailability());
+        }
+        return bind(query)
+                .map(row -> row.get("taken", String.class).trim())
+                .all()
+                .collectList()
+                .map(taken -> UserQueries.toAvailability(username, email, taken));
+    }
+
+    public Flux<UserRoleRow> search(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        // Se difiere para que unos criterios rechazados lleguen como error de la secuencia
+        return Flux.defer(() -> bind(UserQueries.search(criteria, after, limit))
+                .map(this::toRow)
+                .all());
+    }
+
+    private DatabaseClient.GenericExecuteSpec bind(UserQueries.Query query) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query.sql());
+        for (Map.Entry<String, Object> binding : query.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private UserRoleRow toRow(Readable row) {
+        return UserRoleRow.builder()
+                .userId(row.get("id", Long.class))
+                .username(row.get("username", String.class))
+                .password(row.get("password", String.class))
+                .email(row.get("email", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .roleId(row.get("role_id", Long.class))
+                .roleName(row.get("role_name", String.class))
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.bcp.security.infrastructure.adapter.persistence.repository;
 
 import com.bcp.security.infrastructure.adapter.persistence.entity.UserEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Mono;
 
@@ -8,4 +10,8 @@ public interface R2dbcUserRepository extends R2dbcRepository<UserEntity, Long> {
     Mono<UserEntity> findByUsername(String username);
     Mono<Boolean> existsByUsername(String username);
     Mono<Boolean> existsByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE users SET password = :password WHERE username = :username")
+    Mono<Integer> updatePasswordByUsername(String username, String password);
 }
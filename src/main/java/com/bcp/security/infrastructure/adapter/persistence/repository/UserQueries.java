@@ -0,0 +1,148 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.domain.model.UserSearchOrder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SQL for the user read path, with named parameters that both the R2DBC
+ * {@code DatabaseClient} and Spring JDBC's {@code NamedParameterJdbcTemplate} understand, so
+ * every persistence engine runs the same statements against the same indexes.
+ */
+public final class UserQueries {
+
+    public static final String USER_ROLE_COLUMNS = """
+            SELECT u.id, u.username, u.password, u.email, u.created_at, u.updated_at,
+                   r.id AS role_id, r.name AS role_name
+            """;
+
+    public static final String ROLE_JOINS = """
+            LEFT JOIN user_roles ur ON ur.user_id = u.id
+            LEFT JOIN roles r ON r.id = ur.role_id
+            """;
+
+    public static final String SELECT_USERS_WITH_ROLES = USER_ROLE_COLUMNS + "FROM users u\n" + ROLE_JOINS;
+
+    // The limit applies to users, not to joined rows, so it is taken in a derived table
+    public static final String SELECT_USER_PAGE_WITH_ROLES = USER_ROLE_COLUMNS
+            + "FROM (SELECT * FROM users WHERE id > :afterId ORDER BY id LIMIT :limit) u\n"
+            + ROLE_JOINS
+            + "ORDER BY u.id";
+
+    private UserQueries() {
+    }
+
+    /**
+     * Checks the username and the email in one round trip, each branch a lookup on its unique
+     * index and returning the name of what is taken. A null argument is not checked; null
+     * when there is nothing to check.
+     */
+    public static Query availability(String username, String email) {
+        List<String> branches = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (username != null) {
+            branches.add("SELECT 'username' AS taken FROM users WHERE username = :username");
+            bindings.put("username", username);
+        }
+        if (email != null) {
+            branches.add("SELECT 'email' AS taken FROM users WHERE email = :email");
+            bindings.put("email", email);
+        }
+        return branches.isEmpty() ? null : new Query(String.join(" UNION ALL ", branches), bindings);
+    }
+
+    public static UserAvailability toAvailability(String username, String email, Collection<String> taken) {
+        return UserAvailability.builder()
+                .usernameAvailable(username != null ? !taken.contains("username") : null)
+                .emailAvailable(email != null ? !taken.contains("email") : null)
+                .build();
+    }
+
+    /**
+     * One keyset page of a search, read as a range of the index serving its only filter:
+     * (email_domain, id), the unique username index, (role_id, user_id) on user_roles,
+     * (created_at, id), or the primary key when there is no filter. The index order is the page
+     * order, so the page needs neither a sort nor a check of rows outside the range.
+     *
+     * @throws IllegalArgumentException if the criteria combine filters
+     */
+    public static Query search(UserSearchCriteria criteria, UserSearchCursor after, int limit) {
+        if (!criteria.hasSingleFilter()) {
+            throw new IllegalArgumentException("A search takes at most one filter");
+        }
+        UserSearchOrder order = criteria.order();
+        boolean roleDriven = criteria.getRole() != null;
+        String idColumn = roleDriven ? "fr.user_id" : "u.id";
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+
+        if (roleDriven) {
+            conditions.add("fr.role_id = (SELECT id FROM roles WHERE name = :role)");
+            bindings.put("role", criteria.getRole());
+        }
+        if (criteria.getEmailDomain() != null) {
+            conditions.add("u.email_domain = :emailDomain");
+            bindings.put("emailDomain", criteria.getEmailDomain().toLowerCase(Locale.ROOT));
+        }
+        if (criteria.getUsernamePrefix() != null) {
+            conditions.add("u.username LIKE :usernamePrefix");
+            bindings.put("usernamePrefix", escapeLike(criteria.getUsernamePrefix()) + "%");
+        }
+        if (criteria.getCreatedFrom() != null) {
+            conditions.add("u.created_at >= :createdFrom");
+            bindings.put("createdFrom", criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            conditions.add("u.created_at < :createdTo");
+            bindings.put("createdTo", criteria.getCreatedTo());
+        }
+        if (after != null) {
+            switch (order) {
+                case ID -> {
+                    conditions.add(idColumn + " > :afterId");
+                    bindings.put("afterId", after.getId());
+                }
+                case USERNAME -> {
+                    conditions.add("u.username > :afterUsername");
+                    bindings.put("afterUsername", after.getUsername());
+                }
+                case CREATED_AT -> {
+                    conditions.add("(u.created_at > :afterCreatedAt OR (u.created_at = :afterCreatedAt AND u.id > :afterId))");
+                    bindings.put("afterCreatedAt", after.getCreatedAt());
+                    bindings.put("afterId", after.getId());
+                }
+            }
+        }
+        bindings.put("limit", limit);
+
+        String sortKey = switch (order) {
+            case ID -> "u.id";
+            case USERNAME -> "u.username";
+            case CREATED_AT -> "u.created_at, u.id";
+        };
+        String sql = USER_ROLE_COLUMNS
+                + "FROM (SELECT u.* FROM " + (roleDriven ? "user_roles fr JOIN users u ON u.id = fr.user_id" : "users u")
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + (roleDriven ? idColumn : sortKey) + " LIMIT :limit) u\n"
+                + ROLE_JOINS
+                + "ORDER BY " + sortKey;
+        return new Query(sql, bindings);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    public record Query(String sql, Map<String, Object> bindings) {
+    }
+}
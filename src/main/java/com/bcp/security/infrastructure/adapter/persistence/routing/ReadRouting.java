@@ -0,0 +1,90 @@
+package com.bcp.security.infrastructure.adapter.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decides which reads may go to a replica. Adapters wrap their read-only queries with
+ * {@link #read}, which marks the Reactor context for {@link ReadWriteRoutingConnectionFactory},
+ * and report what they changed with {@link #written}. A read naming a key written within
+ * {@code r2dbc.routing.read-your-writes-window} stays on the primary, so replica lag never
+ * hides a change from whoever reads that user next. Everything else, including every write,
+ * runs on the primary. Without replicas this does nothing.
+ * <p>
+ * Recent writes are tracked per node: a read that lands on another node inside the window
+ * can still be served by a lagging replica. Callers that need the latest row regardless of
+ * who wrote it, such as cache fills, use {@link #onPrimary}.
+ */
+@Component
+public class ReadRouting {
+
+    static final String READ_ONLY = ReadRouting.class.getName() + ".READ_ONLY";
+    static final String PRIMARY_ONLY = ReadRouting.class.getName() + ".PRIMARY_ONLY";
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadRouting(
+            @Value("${r2dbc.routing.replicas}") String replicas,
+            @Value("${r2dbc.routing.read-your-writes-window}") long windowInMilliseconds,
+            @Value("${r2dbc.routing.read-your-writes-max-keys}") long maxKeys) {
+        this.enabled = !replicas.isBlank();
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMillis(windowInMilliseconds))
+                .build();
+    }
+
+    public <T> Mono<T> read(Mono<T> query, String... keys) {
+        return read(query, List.of(keys));
+    }
+
+    public <T> Mono<T> read(Mono<T> query, Collection<String> keys) {
+        return replicaAllowed(keys) ? query.contextWrite(context -> context.put(READ_ONLY, true)) : query;
+    }
+
+    public <T> Flux<T> read(Flux<T> query, String... keys) {
+        return read(query, List.of(keys));
+    }
+
+    public <T> Flux<T> read(Flux<T> query, Collection<String> keys) {
+        return replicaAllowed(keys) ? query.contextWrite(context -> context.put(READ_ONLY, true)) : query;
+    }
+
+    /**
+     * Keeps every read made by {@code query} on the primary, whatever {@link #read} marks.
+     */
+    public <T> Mono<T> onPrimary(Mono<T> query) {
+        return enabled ? query.contextWrite(context -> context.put(PRIMARY_ONLY, true)) : query;
+    }
+
+    public void written(String... keys) {
+        written(List.of(keys));
+    }
+
+    public void written(Collection<String> keys) {
+        if (enabled) {
+            keys.forEach(key -> recentWrites.put(key, Boolean.TRUE));
+        }
+    }
+
+    private boolean replicaAllowed(Collection<String> keys) {
+        if (!enabled) {
+            return false;
+        }
+        for (String key : keys) {
+            if (recentWrites.getIfPresent(key) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
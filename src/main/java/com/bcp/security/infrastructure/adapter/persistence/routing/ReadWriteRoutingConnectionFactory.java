@@ -0,0 +1,105 @@
+package com.bcp.security.infrastructure.adapter.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out primary connections unless the subscriber's context was marked read-only by
+ * {@link ReadRouting}, in which case the next healthy replica is used. A replica that cannot
+ * hand out a connection is taken out of rotation and the read gets a primary connection
+ * instead. Transactions bind their connection when they start, so statements inside a
+ * {@code @Transactional} write always share the primary connection whatever their own
+ * marking.
+ */
+@Slf4j
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory
+        implements Wrapped<ConnectionFactory>, DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    private final ConnectionFactory primary;
+    private final ReplicaPool replicaPool;
+    private final Map<String, ConnectionFactory> replicas;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter replicaFallbacks;
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ReplicaPool replicaPool, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+        this.primaryReads = meterRegistry.counter("r2dbc.routing.reads", "target", "primary");
+        this.replicaReads = meterRegistry.counter("r2dbc.routing.reads", "target", "replica");
+        this.replicaFallbacks = meterRegistry.counter("r2dbc.routing.replica.fallbacks");
+        this.replicas = replicaPool.targets();
+
+        Map<String, ConnectionFactory> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!context.getOrDefault(ReadRouting.READ_ONLY, false)) {
+                return Mono.just(PRIMARY);
+            }
+            if (context.getOrDefault(ReadRouting.PRIMARY_ONLY, false)) {
+                primaryReads.increment();
+                return Mono.just(PRIMARY);
+            }
+            String replica = replicaPool.nextHealthy();
+            if (replica == null) {
+                // Sin réplicas sanas la lectura cae al primario en lugar de fallar
+                primaryReads.increment();
+                return Mono.just(PRIMARY);
+            }
+            replicaReads.increment();
+            return Mono.just(replica);
+        });
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return determineCurrentLookupKey().flatMap(key -> {
+            ConnectionFactory replica = replicas.get(key);
+            if (replica == null) {
+                return Mono.<Connection>from(primary.create());
+            }
+            // Una réplica caída entre dos health checks no debe hacer fallar la lectura
+            return Mono.<Connection>from(replica.create())
+                    .onErrorResume(e -> {
+                        log.warn("Could not connect to {}, reading from the primary: {}", key, e.getMessage());
+                        replicaFallbacks.increment();
+                        return Mono.<Connection>from(primary.create());
+                    });
+        });
+    }
+
+    /**
+     * The primary, so that pool metrics and health checks keep seeing Boot's pool.
+     */
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    @Override
+    public void destroy() {
+        if (primary instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
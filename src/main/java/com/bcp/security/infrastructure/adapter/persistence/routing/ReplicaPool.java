@@ -0,0 +1,173 @@
+package com.bcp.security.infrastructure.adapter.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import io.r2dbc.spi.ValidationDepth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.ProxyConnectionFactoryCustomizer;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One connection pool per replica URL, configured like the primary pool and instrumented by
+ * the same proxy customizers. Replicas are handed out round-robin among the healthy ones. A
+ * replica becomes unhealthy when a connection to it cannot be created or fails the periodic
+ * validation, and becomes healthy again once validation passes. Until the first check
+ * completes, reads stay on the primary.
+ */
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private final Duration healthCheckTimeout;
+
+    public ReplicaPool(List<String> urls, R2dbcProperties properties, List<ProxyConnectionFactoryCustomizer> customizers,
+                       MeterRegistry meterRegistry, Duration healthCheckTimeout) {
+        this.healthCheckTimeout = healthCheckTimeout;
+        for (int i = 0; i < urls.size(); i++) {
+            Replica replica = new Replica("replica-" + i, createPool("replica-" + i, urls.get(i).trim(), properties, customizers));
+            replicas.add(replica);
+            Gauge.builder("r2dbc.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    Map<String, ConnectionFactory> targets() {
+        Map<String, ConnectionFactory> targets = new LinkedHashMap<>();
+        replicas.forEach(replica -> targets.put(replica.name, replica));
+        return targets;
+    }
+
+    /**
+     * Name of the next healthy replica, or null when none is healthy.
+     */
+    String nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${r2dbc.routing.health-check-interval}")
+    public void checkHealth() {
+        if (!checking.compareAndSet(false, true)) {
+            return;
+        }
+        Flux.fromIterable(replicas)
+                .flatMap(replica -> Mono.usingWhen(replica.pool.create(),
+                                connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)),
+                                Connection::close)
+                        .timeout(healthCheckTimeout)
+                        .onErrorResume(e -> {
+                            log.debug("Health check of {} failed: {}", replica.name, e.getMessage());
+                            return Mono.just(false);
+                        })
+                        .doOnNext(replica::setHealthy))
+                .doFinally(signal -> checking.set(false))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.dispose());
+    }
+
+    private static ConnectionPool createPool(String name, String url, R2dbcProperties properties,
+                                             List<ProxyConnectionFactoryCustomizer> customizers) {
+        ConnectionFactoryOptions urlOptions = ConnectionFactoryOptions.parse(url);
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .configure(options -> {
+                    // Las credenciales de la URL tienen prioridad sobre las del primario
+                    if (!urlOptions.hasOption(ConnectionFactoryOptions.USER) && properties.getUsername() != null) {
+                        options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+                    }
+                    if (!urlOptions.hasOption(ConnectionFactoryOptions.PASSWORD) && properties.getPassword() != null) {
+                        options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+                    }
+                    properties.getProperties().forEach((key, value) -> options.option(Option.valueOf(key), value));
+                })
+                .build();
+        ProxyConnectionFactory.Builder proxy = ProxyConnectionFactory.builder(connectionFactory);
+        customizers.forEach(customizer -> customizer.customize(proxy));
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(proxy.build())
+                .name(name);
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMinIdle()).to(builder::minIdle);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+        map.from(pool.getValidationDepth()).to(builder::validationDepth);
+        map.from(pool.getValidationQuery()).when(StringUtils::hasText).to(builder::validationQuery);
+        return new ConnectionPool(builder.build());
+    }
+
+    /**
+     * Routing target for one replica; a failure to connect takes it out of rotation at once
+     * instead of waiting for the next health check.
+     */
+    private static class Replica implements ConnectionFactory {
+
+        private final String name;
+        private final ConnectionPool pool;
+        private volatile boolean healthy;
+
+        Replica(String name, ConnectionPool pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        @Override
+        public Mono<Connection> create() {
+            return pool.create()
+                    .doOnError(e -> setHealthy(false));
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return pool.getMetadata();
+        }
+
+        void setHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                log.info("Replica {} is now {}", name, healthy ? "healthy" : "unhealthy");
+            }
+            this.healthy = healthy;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bcp.security.infrastructure.adapter.persistence.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.r2dbc.ProxyConnectionFactoryCustomizer;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Enabled by listing replica URLs in {@code r2dbc.routing.replicas}. Boot still builds the
+ * primary pool from {@code spring.r2dbc.*}; this wraps it in a
+ * {@link ReadWriteRoutingConnectionFactory} so repositories, {@code DatabaseClient} and the
+ * transaction manager all go through the router.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${r2dbc.routing.replicas:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(
+            @Value("${r2dbc.routing.replicas}") String replicas,
+            @Value("${r2dbc.routing.health-check-timeout}") long healthCheckTimeoutInMilliseconds,
+            R2dbcProperties properties,
+            ObjectProvider<ProxyConnectionFactoryCustomizer> customizers,
+            MeterRegistry meterRegistry) {
+        return new ReplicaPool(
+                Arrays.stream(replicas.split(",")).filter(url -> !url.isBlank()).toList(),
+                properties,
+                customizers.orderedStream().toList(),
+                meterRegistry,
+                Duration.ofMillis(healthCheckTimeoutInMilliseconds));
+    }
+
+    @Bean
+    public static BeanPostProcessor readWriteRoutingPostProcessor(
+            ObjectProvider<ReplicaPool> replicaPool,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("connectionFactory".equals(beanName) && bean instanceof ConnectionFactory primary
+                        && !(bean instanceof ReadWriteRoutingConnectionFactory)) {
+                    return new ReadWriteRoutingConnectionFactory(primary, replicaPool.getObject(), meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
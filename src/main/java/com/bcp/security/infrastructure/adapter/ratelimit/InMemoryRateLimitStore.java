@@ -0,0 +1,111 @@
+package com.bcp.security.infrastructure.adapter.ratelimit;
+
+import com.bcp.security.domain.model.RateLimit;
+import com.bcp.security.domain.port.out.RateLimitStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local counters in bounded Caffeine maps, so a flood of distinct keys evicts idle
+ * entries instead of growing the heap. Each bucket is a single {@link AtomicLong} holding the
+ * generic cell rate algorithm's theoretical arrival time, updated with a CAS loop.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Cache<String, Failures> failures;
+
+    public InMemoryRateLimitStore(
+            @Value("${rate-limit.max-entries}") long maxEntries,
+            @Value("${rate-limit.idle-expiration}") long idleExpirationInMilliseconds) {
+        Duration idleExpiration = Duration.ofMillis(idleExpirationInMilliseconds);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(idleExpiration)
+                .build();
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(idleExpiration)
+                .build();
+    }
+
+    @Override
+    public Mono<Duration> tryConsume(String key, RateLimit limit) {
+        return Mono.fromSupplier(() -> consume(buckets.get(key, k -> new AtomicLong()), limit));
+    }
+
+    @Override
+    public Mono<Long> recordFailure(String key, Duration window) {
+        return Mono.fromSupplier(() -> {
+            long now = System.currentTimeMillis();
+            Failures current = failures.asMap().compute(key, (k, existing) ->
+                    existing == null || now - existing.windowStart >= window.toMillis()
+                            ? new Failures(now, existing != null ? existing.lockedUntil : 0)
+                            : existing);
+            return current.count.incrementAndGet();
+        });
+    }
+
+    @Override
+    public Mono<Void> resetFailures(String key) {
+        return Mono.fromRunnable(() -> failures.invalidate(key));
+    }
+
+    @Override
+    public Mono<Void> lockUntil(String key, Instant until) {
+        return Mono.fromRunnable(() -> failures.asMap().compute(key, (k, existing) -> {
+            Failures updated = existing != null ? existing : new Failures(System.currentTimeMillis(), 0);
+            updated.lockedUntil = until.toEpochMilli();
+            return updated;
+        }));
+    }
+
+    @Override
+    public Mono<Instant> lockedUntil(String key) {
+        return Mono.fromSupplier(() -> {
+            Failures current = failures.getIfPresent(key);
+            return current != null && current.lockedUntil > System.currentTimeMillis()
+                    ? Instant.ofEpochMilli(current.lockedUntil)
+                    : null;
+        });
+    }
+
+    private static Duration consume(AtomicLong theoreticalArrival, RateLimit limit) {
+        long interval = limit.period().toNanos() / limit.capacity();
+        long burstTolerance = interval * (limit.capacity() - 1);
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long arrival = current == 0 || current - now < 0 ? now : current;
+            long wait = arrival - now - burstTolerance;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + interval)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    private static final class Failures {
+
+        private final long windowStart;
+        private final AtomicLong count = new AtomicLong();
+        private volatile long lockedUntil;
+
+        Failures(long windowStart, long lockedUntil) {
+            this.windowStart = windowStart;
+            this.lockedUntil = lockedUntil;
+        }
+    }
+}
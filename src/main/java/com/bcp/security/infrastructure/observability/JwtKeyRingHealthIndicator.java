@@ -0,0 +1,25 @@
+package com.bcp.security.infrastructure.observability;
+
+import com.bcp.security.infrastructure.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until the key ring holds an active signing key: before that, logins and
+ * refreshes cannot issue tokens, so the node must not receive traffic.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtKeyRingHealthIndicator implements HealthIndicator {
+
+    private final JwtKeyRing keyRing;
+
+    @Override
+    public Health health() {
+        return keyRing.hasSigningKey()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "no active signing key loaded").build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bcp.security.infrastructure.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call made through an inbound or outbound port. The returned Mono/Flux is
+ * tapped with Reactor's Micrometer listener, so each port call shows up as a
+ * {@code security.port.flow.duration} timer tagged with the port, the implementing
+ * component, the method and the outcome ({@code status}/{@code exception}).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class PortMetricsAspect {
+
+    private static final String METRIC_NAME = "security.port";
+    private static final String PORT_PACKAGE = "com.bcp.security.domain.port.";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> portNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.bcp.security.domain.port..*.*(..))")
+    public Object timePortCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        String port = portNames.computeIfAbsent(targetClass, PortMetricsAspect::portName);
+        String component = targetClass.getSimpleName();
+        String method = joinPoint.getSignature().getName();
+
+        if (result instanceof Mono<?> mono) {
+            return mono.name(METRIC_NAME)
+                    .tag("port", port)
+                    .tag("component", component)
+                    .tag("method", method)
+                    .tap(Micrometer.metrics(meterRegistry));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.name(METRIC_NAME)
+                    .tag("port", port)
+                    .tag("component", component)
+                    .tag("method", method)
+                    .tap(Micrometer.metrics(meterRegistry));
+        }
+        return result;
+    }
+
+    private static String portName(Class<?> targetClass) {
+        return ClassUtils.getAllInterfacesForClassAsSet(targetClass).stream()
+                .filter(type -> type.getName().startsWith(PORT_PACKAGE))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(targetClass.getSimpleName());
+    }
+}
@@ -0,0 +1,25 @@
+package com.bcp.security.infrastructure.observability;
+
+import com.bcp.security.infrastructure.adapter.persistence.RoleCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until the role catalog has loaded once: before that, tokens carrying a role
+ * bitmask are rejected, so the node must not receive traffic.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCatalogHealthIndicator implements HealthIndicator {
+
+    private final RoleCatalog roleCatalog;
+
+    @Override
+    public Health health() {
+        return roleCatalog.isLoaded()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "role catalog not loaded").build();
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -13,10 +14,14 @@ public class AuthenticationManagerConfig {
     @Bean
     public ReactiveAuthenticationManager reactiveAuthenticationManager(
             ReactiveUserDetailsService userDetailsService,
-            PasswordEncoder passwordEncoder) {
+            ReactiveUserDetailsPasswordService userDetailsPasswordService,
+            PasswordEncoder passwordEncoder,
+            BoundedPasswordHasher passwordHasher) {
         UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
                 new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
         authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(passwordHasher.getScheduler());
+        authenticationManager.setUserDetailsPasswordService(userDetailsPasswordService);
         return authenticationManager;
     }
 }
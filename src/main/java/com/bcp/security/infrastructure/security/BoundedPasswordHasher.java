@@ -0,0 +1,163 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.port.out.PasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a fixed-size pool with a bounded queue, keeping BCrypt off the
+ * Netty event loop. Work submitted while the queue is full fails fast with a
+ * {@link RejectedExecutionException} instead of waiting. Bulk work such as imports runs on a
+ * second, smaller pool of low-priority threads, so it cannot fill the queue that logins use.
+ */
+@Component
+public class BoundedPasswordHasher implements PasswordHasher, DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final ThreadPoolExecutor backgroundExecutor;
+    private final Scheduler backgroundScheduler;
+
+    public BoundedPasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${password.hashing.pool-size}") int poolSize,
+            @Value("${password.hashing.queue-capacity}") int queueCapacity,
+            @Value("${password.hashing.background-pool-size}") int backgroundPoolSize,
+            @Value("${password.hashing.background-queue-capacity}") int backgroundQueueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        Timer hashTimer = Timer.builder("security.password.hash.duration")
+                .description("Time spent running password hashing tasks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Counter rejectedCounter = Counter.builder("security.password.hash.rejected")
+                .description("Hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        this.executor = new TimedThreadPoolExecutor(threads, queueCapacity, hashTimer, rejectedCounter,
+                new HashingThreadFactory("password-hash-", Thread.NORM_PRIORITY));
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hash");
+
+        int backgroundThreads = backgroundPoolSize > 0
+                ? backgroundPoolSize
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        Counter backgroundRejectedCounter = Counter.builder("security.password.hash.background.rejected")
+                .description("Bulk hashing tasks rejected because the background queue was full")
+                .register(meterRegistry);
+        this.backgroundExecutor = new TimedThreadPoolExecutor(backgroundThreads, backgroundQueueCapacity, hashTimer,
+                backgroundRejectedCounter, new HashingThreadFactory("password-hash-background-", Thread.MIN_PRIORITY));
+        this.backgroundScheduler = Schedulers.fromExecutorService(backgroundExecutor, "password-hash-background");
+
+        Gauge.builder("security.password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing tasks currently running")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.background.queue.size", backgroundExecutor, e -> e.getQueue().size())
+                .description("Bulk hashing tasks waiting for a background worker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return onHashingPool(Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    @Override
+    public Mono<String> encodeInBackground(String rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(backgroundScheduler);
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return onHashingPool(Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+        executor.shutdown();
+        backgroundScheduler.dispose();
+        backgroundExecutor.shutdown();
+    }
+
+    private <T> Mono<T> onHashingPool(Mono<T> work) {
+        return work.subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, PasswordHashingRejectedException::new);
+    }
+
+    private static class TimedThreadPoolExecutor extends ThreadPoolExecutor {
+
+        private final Timer timer;
+        private final ThreadLocal<Long> startTime = new ThreadLocal<>();
+
+        TimedThreadPoolExecutor(int threads, int queueCapacity, Timer timer, Counter rejectedCounter,
+                                ThreadFactory threadFactory) {
+            super(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+                    (task, executor) -> {
+                        rejectedCounter.increment();
+                        throw new RejectedExecutionException("Password hashing queue is full");
+                    });
+            this.timer = timer;
+        }
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable task) {
+            startTime.set(System.nanoTime());
+        }
+
+        @Override
+        protected void afterExecute(Runnable task, Throwable error) {
+            Long start = startTime.get();
+            if (start != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                startTime.remove();
+            }
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final int priority;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        HashingThreadFactory(String prefix, int priority) {
+            this.prefix = prefix;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        }
+    }
+}
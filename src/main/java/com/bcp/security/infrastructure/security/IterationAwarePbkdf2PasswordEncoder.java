@@ -0,0 +1,73 @@
+package com.bcp.security.infrastructure.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PBKDF2-HMAC-SHA256 encoder whose hashes carry their iteration count as
+ * {@code <iterations>$<salt+hash>}, so changing the configured count neither breaks existing
+ * hashes nor leaves them at the old cost: they still match, and {@link #upgradeEncoding} asks
+ * for a re-encode on the next successful login. Hashes written before the count was recorded
+ * have no prefix; they were made with the configured count and are always upgraded.
+ */
+public class IterationAwarePbkdf2PasswordEncoder implements PasswordEncoder {
+
+    private static final char SEPARATOR = '$';
+
+    private final int iterations;
+    private final Map<Integer, Pbkdf2PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+    public IterationAwarePbkdf2PasswordEncoder(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + String.valueOf(SEPARATOR) + encoder(iterations).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        int separator = encodedPassword.indexOf(SEPARATOR);
+        Integer stored = separator > 0 ? storedIterations(encodedPassword, separator) : null;
+        if (stored == null) {
+            return encoder(iterations).matches(rawPassword, encodedPassword);
+        }
+        return encoder(stored).matches(rawPassword, encodedPassword.substring(separator + 1));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        int separator = encodedPassword.indexOf(SEPARATOR);
+        Integer stored = separator > 0 ? storedIterations(encodedPassword, separator) : null;
+        return stored == null || stored != iterations;
+    }
+
+    private Pbkdf2PasswordEncoder encoder(int iterations) {
+        return encoders.computeIfAbsent(iterations, count -> {
+            Pbkdf2PasswordEncoder encoder = new Pbkdf2PasswordEncoder("", 16, count,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            encoder.setEncodeHashAsBase64(true);
+            return encoder;
+        });
+    }
+
+    // Base64 nunca contiene '$', así que un prefijo numérico solo puede ser el contador
+    private static Integer storedIterations(String encodedPassword, int separator) {
+        try {
+            int stored = Integer.parseInt(encodedPassword, 0, separator, 10);
+            return stored > 0 ? stored : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.bcp.security.infrastructure.security;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
@@ -10,25 +12,68 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-@RequiredArgsConstructor
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
 public class JwtAuthenticationFilter implements WebFilter {
 
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationList revocationList;
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
+    private static final String OUTCOME_METRIC = "security.jwt.filter.requests";
+
+    private final Counter authenticatedCounter;
+    private final Counter anonymousCounter;
+    private final Counter revokedCounter;
+    private final Map<TokenValidation.Failure, Counter> rejectedCounters = new EnumMap<>(TokenValidation.Failure.class);
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, TokenRevocationList revocationList,
+                                   MeterRegistry meterRegistry) {
+        this.tokenProvider = tokenProvider;
+        this.revocationList = revocationList;
+        this.authenticatedCounter = meterRegistry.counter(OUTCOME_METRIC, "outcome", "authenticated");
+        this.anonymousCounter = meterRegistry.counter(OUTCOME_METRIC, "outcome", "anonymous");
+        this.revokedCounter = meterRegistry.counter(OUTCOME_METRIC, "outcome", "revoked");
+        for (TokenValidation.Failure failure : TokenValidation.Failure.values()) {
+            rejectedCounters.put(failure, meterRegistry.counter(OUTCOME_METRIC,
+                    "outcome", failure.name().toLowerCase(Locale.ROOT)));
+        }
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         String token = resolveToken(exchange.getRequest());
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
-            return chain.filter(exchange)
-                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        if (StringUtils.hasText(token)) {
+            TokenValidation validation = tokenProvider.resolveAuthentication(token);
+            if (validation.isValid() && isRevoked(validation.getAuthentication())) {
+                revokedCounter.increment();
+                log.debug("Ignoring revoked bearer token");
+                return chain.filter(exchange);
+            }
+            if (validation.isValid()) {
+                authenticatedCounter.increment();
+                return chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(validation.getAuthentication()));
+            }
+            rejectedCounters.get(validation.getFailure()).increment();
+            log.debug("Ignoring bearer token: {}", validation.getFailure());
+            return chain.filter(exchange);
         }
+        anonymousCounter.increment();
         return chain.filter(exchange);
     }
 
-    private String resolveToken(ServerHttpRequest request) {
+    private boolean isRevoked(Authentication authentication) {
+        if (authentication.getDetails() instanceof TokenDetails details) {
+            return revocationList.isRevoked(details.tokenId(), authentication.getName(), details.issuedAt());
+        }
+        return revocationList.isRevoked(null, authentication.getName(), null);
+    }
+
+    String resolveToken(ServerHttpRequest request) {
         String bearerToken = request.getHeaders().getFirst(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
             return bearerToken.substring(7);
@@ -0,0 +1,328 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.SigningKey;
+import com.bcp.security.domain.port.out.SigningKeyRepository;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Asymmetric signing keys shared by every node through the signing_keys table. The newest
+ * key whose notBefore has passed signs new tokens. Its successor is created
+ * {@code jwt.signing.publish-ahead} before it takes over, so gateways caching the JWKS already
+ * know it, and superseded keys stay published until every token they signed has expired.
+ * Keys are numbered by generation, unique in the table: when several nodes find the ring empty
+ * or a rotation due at the same time, one insert wins and the others adopt the stored key.
+ * Private keys are stored encrypted with a key derived from {@code jwt.secret}. The ring is
+ * loaded when the application is ready, retrying until it succeeds, and readiness stays out of
+ * service until a key can sign (see {@code JwtKeyRingHealthIndicator}).
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private static final Duration RETENTION_MARGIN = Duration.ofMinutes(5);
+    private static final Duration WARM_UP_MIN_BACKOFF = Duration.ofMillis(500);
+    private static final Duration WARM_UP_MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_LENGTH = 128;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final SecretKey keyEncryptionKey;
+    private final SignatureAlgorithm algorithm;
+    private final Duration tokenValidity;
+    private final Duration rotationInterval;
+    private final Duration publishAhead;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile List<RingKey> keys = List.of();
+    private volatile Map<String, RingKey> keysByKid = Map.of();
+
+    @Autowired
+    public JwtKeyRing(
+            SigningKeyRepository signingKeyRepository,
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") long tokenValidityInMilliseconds,
+            @Value("${jwt.signing.algorithm}") String algorithm,
+            @Value("${jwt.signing.rotation-interval}") long rotationIntervalInMilliseconds,
+            @Value("${jwt.signing.publish-ahead}") long publishAheadInMilliseconds) {
+        this(signingKeyRepository, secret, tokenValidityInMilliseconds, algorithm, rotationIntervalInMilliseconds,
+                publishAheadInMilliseconds, Clock.systemUTC());
+    }
+
+    JwtKeyRing(SigningKeyRepository signingKeyRepository, String secret, long tokenValidityInMilliseconds,
+               String algorithm, long rotationIntervalInMilliseconds, long publishAheadInMilliseconds, Clock clock) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.clock = clock;
+        this.keyEncryptionKey = new SecretKeySpec(sha256(secret.getBytes(StandardCharsets.UTF_8)), "AES");
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        if (!this.algorithm.isRsa() && !this.algorithm.isEllipticCurve()) {
+            throw new IllegalArgumentException("jwt.signing.algorithm must be an RSA or EC algorithm: " + algorithm);
+        }
+        this.tokenValidity = Duration.ofMillis(tokenValidityInMilliseconds);
+        this.rotationInterval = Duration.ofMillis(rotationIntervalInMilliseconds);
+        this.publishAhead = Duration.ofMillis(publishAheadInMilliseconds);
+        if (this.publishAhead.compareTo(this.rotationInterval) >= 0) {
+            throw new IllegalArgumentException("jwt.signing.publish-ahead must be shorter than the rotation interval");
+        }
+    }
+
+    /**
+     * Key to sign new tokens with: the newest one that is already active.
+     */
+    public RingKey signingKey() {
+        Instant now = clock.instant();
+        for (RingKey key : keys) {
+            if (!key.notBefore().isAfter(now)) {
+                return key;
+            }
+        }
+        refreshInBackground();
+        throw new IllegalStateException("No signing key has been loaded yet");
+    }
+
+    /**
+     * Whether {@link #signingKey()} can return a key, i.e. a loaded key is already active.
+     */
+    public boolean hasSigningKey() {
+        Instant now = clock.instant();
+        return keys.stream().anyMatch(key -> !key.notBefore().isAfter(now));
+    }
+
+    public PublicKey verificationKey(String kid) {
+        RingKey key = keysByKid.get(kid);
+        return key != null ? key.publicKey() : null;
+    }
+
+    public List<RingKey> publishedKeys() {
+        return keys;
+    }
+
+    /**
+     * How long clients may cache the published key set without missing a successor key.
+     */
+    public Duration publishedKeysMaxAge() {
+        return publishAhead.dividedBy(2);
+    }
+
+    public Mono<Void> refresh() {
+        return signingKeyRepository.findAll()
+                .collectList()
+                .flatMap(this::rotateIfDue)
+                .flatMap(this::retireExpired)
+                .doOnNext(loaded -> {
+                    List<RingKey> decoded = loaded.stream().map(this::decode).toList();
+                    keysByKid = decoded.stream().collect(Collectors.toUnmodifiableMap(RingKey::kid, Function.identity()));
+                    keys = decoded;
+                    log.debug("Signing key ring loaded with {} keys", decoded.size());
+                })
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        // Sin clave activa no se pueden emitir tokens: se reintenta hasta cargar el anillo
+        refresh()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, WARM_UP_MIN_BACKOFF)
+                        .maxBackoff(WARM_UP_MAX_BACKOFF)
+                        .filter(e -> !hasSigningKey())
+                        .doBeforeRetry(signal -> log.warn("Could not load signing keys, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe(null, e -> log.warn("Could not refresh signing keys: {}", e.getMessage()));
+    }
+
+    @Scheduled(
+            initialDelayString = "${jwt.signing.refresh-interval}",
+            fixedDelayString = "${jwt.signing.refresh-interval}")
+    public void scheduledRefresh() {
+        refreshInBackground();
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresh()
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(null, e -> log.warn("Could not refresh signing keys: {}", e.getMessage()));
+    }
+
+    private Mono<List<SigningKey>> rotateIfDue(List<SigningKey> stored) {
+        Instant now = clock.instant();
+        List<SigningKey> sorted = newestFirst(stored);
+        SigningKey active = sorted.stream()
+                .filter(key -> !key.getNotBefore().isAfter(now))
+                .findFirst()
+                .orElse(null);
+        boolean successorPending = !sorted.isEmpty() && sorted.get(0).getNotBefore().isAfter(now);
+
+        Instant notBefore;
+        if (active == null) {
+            notBefore = now;
+        } else if (successorPending) {
+            return Mono.just(sorted);
+        } else if (!active.getAlgorithm().equals(algorithm.getValue())) {
+            notBefore = now.plus(publishAhead);
+        } else if (!active.getNotBefore().plus(rotationInterval).minus(publishAhead).isAfter(now)) {
+            Instant scheduled = active.getNotBefore().plus(rotationInterval);
+            Instant earliest = now.plus(publishAhead);
+            notBefore = scheduled.isAfter(earliest) ? scheduled : earliest;
+        } else {
+            return Mono.just(sorted);
+        }
+
+        long generation = sorted.stream().mapToLong(SigningKey::getGeneration).max().orElse(-1) + 1;
+        SigningKey created = generate(generation, notBefore);
+        return signingKeyRepository.save(created)
+                .doOnNext(saved -> log.info("Generated {} signing key {}, active from {}",
+                        saved.getAlgorithm(), saved.getKid(), saved.getNotBefore()))
+                .map(saved -> {
+                    List<SigningKey> withCreated = new ArrayList<>(sorted);
+                    withCreated.add(saved);
+                    return newestFirst(withCreated);
+                })
+                // Otro nodo creó la misma generación a la vez: se relee para usar la suya
+                .onErrorResume(DuplicateKeyException.class, e -> {
+                    log.info("Signing key generation {} was created by another node", generation);
+                    return signingKeyRepository.findAll().collectList().map(JwtKeyRing::newestFirst);
+                });
+    }
+
+    /**
+     * Drops keys whose successor took over long enough ago that no token they signed can
+     * still be valid.
+     */
+    private Mono<List<SigningKey>> retireExpired(List<SigningKey> sorted) {
+        Instant now = clock.instant();
+        List<SigningKey> retained = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+        Instant supersededAt = null;
+        for (SigningKey key : sorted) {
+            if (supersededAt == null || supersededAt.plus(tokenValidity).plus(RETENTION_MARGIN).isAfter(now)) {
+                retained.add(key);
+            } else {
+                expired.add(key.getKid());
+            }
+            supersededAt = key.getNotBefore();
+        }
+        if (expired.isEmpty()) {
+            return Mono.just(retained);
+        }
+        return signingKeyRepository.deleteByKids(expired)
+                .doOnSuccess(done -> log.info("Retired signing keys {}", expired))
+                .thenReturn(retained);
+    }
+
+    private SigningKey generate(long generation, Instant notBefore) {
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        String kid = UUID.randomUUID().toString();
+        return SigningKey.builder()
+                .kid(kid)
+                .generation(generation)
+                .algorithm(algorithm.getValue())
+                .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                .privateKey(encrypt(kid, keyPair.getPrivate().getEncoded()))
+                .notBefore(notBefore)
+                .build();
+    }
+
+    private RingKey decode(SigningKey key) {
+        SignatureAlgorithm keyAlgorithm = SignatureAlgorithm.forName(key.getAlgorithm());
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm.isRsa() ? "RSA" : "EC");
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+            PrivateKey privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decrypt(key.getKid(), key.getPrivateKey())));
+            return new RingKey(key.getKid(), keyAlgorithm, publicKey, privateKey, key.getNotBefore());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not decode signing key " + key.getKid(), e);
+        }
+    }
+
+    private String encrypt(String kid, byte[] plain) {
+        try {
+            byte[] iv = new byte[GCM_IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(plain);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                    .put(iv)
+                    .put(encrypted)
+                    .array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt signing key " + kid, e);
+        }
+    }
+
+    private byte[] decrypt(String kid, String stored) throws GeneralSecurityException {
+        byte[] data = Base64.getDecoder().decode(stored);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH, data, 0, GCM_IV_LENGTH));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(data, GCM_IV_LENGTH, data.length - GCM_IV_LENGTH);
+    }
+
+    private static List<SigningKey> newestFirst(List<SigningKey> keys) {
+        return keys.stream()
+                .sorted(Comparator.comparing(SigningKey::getNotBefore).reversed())
+                .toList();
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record RingKey(
+            String kid,
+            SignatureAlgorithm algorithm,
+            PublicKey publicKey,
+            PrivateKey privateKey,
+            Instant notBefore) {
+    }
+}
@@ -1,76 +1,242 @@
 package com.bcp.security.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Collection;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Signs tokens with the current key of the {@link JwtKeyRing}, identified by the {@code kid}
+ * header, and verifies them against the published ring. Tokens without a {@code kid} are the
+ * HS512 tokens issued before the ring existed; they are accepted while
+ * {@code jwt.signing.accept-legacy-tokens} is on. Authorities travel as a role bitmask
+ * (see {@link RoleClaimCodec}); tokens carrying the older {@code auth} names claim are still
+ * accepted. The {@code sid} claim names the refresh family the token was issued with, so a
+ * logout can end that session.
+ */
 @Component
 public class JwtTokenProvider {
 
-    private final SecretKey key;
+    public static final String SESSION_CLAIM = "sid";
+
+    private final JwtKeyRing keyRing;
+    private final SecretKey legacyKey;
+    private final boolean acceptLegacyTokens;
     private final long tokenValidityInMilliseconds;
+    private final long legacyTokenValidityInMilliseconds;
+    private final JwtParser jwtParser;
+    private final TokenAuthenticationCache authenticationCache;
+    private final RoleClaimCodec roleClaimCodec;
+    private final Timer signTimer;
+    private final Timer validVerifyTimer;
+    private final Map<TokenValidation.Failure, Timer> failedVerifyTimers = new EnumMap<>(TokenValidation.Failure.class);
 
     public JwtTokenProvider(
+            JwtKeyRing keyRing,
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long tokenValidityInMilliseconds) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            @Value("${jwt.signing.accept-legacy-tokens}") boolean acceptLegacyTokens,
+            @Value("${jwt.expiration}") long tokenValidityInMilliseconds,
+            @Value("${jwt.signing.legacy-token-validity}") long legacyTokenValidityInMilliseconds,
+            TokenAuthenticationCache authenticationCache,
+            RoleClaimCodec roleClaimCodec,
+            MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        this.legacyKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.acceptLegacyTokens = acceptLegacyTokens;
         this.tokenValidityInMilliseconds = tokenValidityInMilliseconds;
+        this.legacyTokenValidityInMilliseconds = legacyTokenValidityInMilliseconds;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+        this.authenticationCache = authenticationCache;
+        this.roleClaimCodec = roleClaimCodec;
+        this.signTimer = Timer.builder("security.jwt.sign")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.validVerifyTimer = verifyTimer(meterRegistry, "valid");
+        for (TokenValidation.Failure failure : TokenValidation.Failure.values()) {
+            failedVerifyTimers.put(failure, verifyTimer(meterRegistry, failure.name().toLowerCase(Locale.ROOT)));
+        }
     }
 
     public String generateToken(Authentication authentication) {
-        String authorities = authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
+        return generateToken(authentication, null);
+    }
+
+    public String generateToken(Authentication authentication, String sessionId) {
+        return signTimer.record(() -> sign(authentication, sessionId));
+    }
 
+    private String sign(Authentication authentication, String sessionId) {
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.tokenValidityInMilliseconds);
+        JwtKeyRing.RingKey signingKey = keyRing.signingKey();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
+                .setId(UUID.randomUUID().toString())
                 .setSubject(authentication.getName())
-                .claim("auth", authorities)
-                .signWith(key, SignatureAlgorithm.HS512)
+                .setIssuedAt(new Date(now));
+        if (sessionId != null) {
+            builder.claim(SESSION_CLAIM, sessionId);
+        }
+
+        RoleClaimCodec.RoleClaim roleClaim = roleClaimCodec.encode(authentication.getAuthorities());
+        if (roleClaim != null) {
+            builder.claim(RoleClaimCodec.BITS_CLAIM, roleClaim.bits())
+                    .claim(RoleClaimCodec.VERSION_CLAIM, roleClaim.version());
+        } else {
+            builder.claim(RoleClaimCodec.NAMES_CLAIM, authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.joining(",")));
+        }
+
+        return builder
+                .signWith(signingKey.privateKey(), signingKey.algorithm())
                 .setExpiration(validity)
                 .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public long getTokenValiditySeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(tokenValidityInMilliseconds);
+    }
 
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get("auth").toString().split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+    /**
+     * Longest lifetime of any token this provider still accepts: legacy tokens were issued
+     * with a longer validity than the current one.
+     */
+    public Duration getLongestAcceptedValidity() {
+        return Duration.ofMillis(acceptLegacyTokens
+                ? Math.max(tokenValidityInMilliseconds, legacyTokenValidityInMilliseconds)
+                : tokenValidityInMilliseconds);
+    }
 
-        User principal = new User(claims.getSubject(), "", authorities);
+    public TokenValidation resolveAuthentication(String token) {
+        Authentication cached = authenticationCache.get(token);
+        if (cached != null) {
+            return TokenValidation.valid(cached);
+        }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        long start = System.nanoTime();
+        TokenValidation validation = verify(token);
+        Timer timer = validation.isValid() ? validVerifyTimer : failedVerifyTimers.get(validation.getFailure());
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return validation;
     }
 
-    public boolean validateToken(String token) {
+    private TokenValidation verify(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Authentication authentication = toAuthentication(claims, token);
+            if (claims.getExpiration() != null) {
+                authenticationCache.put(token, authentication, claims.getExpiration().getTime());
+            }
+            return TokenValidation.valid(authentication);
+        } catch (ExpiredJwtException e) {
+            return TokenValidation.invalid(TokenValidation.Failure.EXPIRED);
+        } catch (SignatureException e) {
+            return TokenValidation.invalid(TokenValidation.Failure.INVALID_SIGNATURE);
+        } catch (MalformedJwtException e) {
+            return TokenValidation.invalid(TokenValidation.Failure.MALFORMED);
+        } catch (UnsupportedJwtException e) {
+            return TokenValidation.invalid(TokenValidation.Failure.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidation.invalid(TokenValidation.Failure.INVALID_CLAIMS);
         }
     }
+
+    public Authentication getAuthentication(String token) {
+        return toAuthentication(jwtParser.parseClaimsJws(token).getBody(), token);
+    }
+
+    public boolean validateToken(String token) {
+        return resolveAuthentication(token).isValid();
+    }
+
+    private Key verificationKey(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (acceptLegacyTokens && SignatureAlgorithm.HS512.getValue().equals(header.getAlgorithm())) {
+                return legacyKey;
+            }
+            throw new UnsupportedJwtException("Token has no key id");
+        }
+        Key key = keyRing.verificationKey(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key " + kid);
+        }
+        return key;
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.verify")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Authentication toAuthentication(Claims claims, String token) {
+        List<GrantedAuthority> authorities = authorities(claims);
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(claims.getSubject(), token, authorities);
+        authentication.setDetails(new TokenDetails(claims.getId(), toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()), claims.get(SESSION_CLAIM, String.class)));
+        return authentication;
+    }
+
+    private List<GrantedAuthority> authorities(Claims claims) {
+        if (claims.get(RoleClaimCodec.BITS_CLAIM) instanceof Number bits) {
+            long version = claims.get(RoleClaimCodec.VERSION_CLAIM) instanceof Number number ? number.longValue() : -1;
+            List<GrantedAuthority> authorities = roleClaimCodec.decode(bits.longValue(), version);
+            if (authorities == null) {
+                throw new JwtException("Role claim cannot be decoded with the loaded role catalog");
+            }
+            return authorities;
+        }
+        Object names = claims.get(RoleClaimCodec.NAMES_CLAIM);
+        if (names == null) {
+            throw new MalformedJwtException("Token has no role claim");
+        }
+        return roleClaimCodec.decodeNames(names.toString());
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
 }
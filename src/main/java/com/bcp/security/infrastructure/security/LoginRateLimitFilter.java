@@ -0,0 +1,80 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.port.out.LoginThrottle;
+import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * Applies the per-client budgets to the unauthenticated credential and availability
+ * endpoints. The client is the remote address of the connection; behind a proxy, enable
+ * {@code server.forward-headers-strategy} so it reflects the real client.
+ */
+public class LoginRateLimitFilter implements WebFilter {
+
+    private final ServerWebExchangeMatcher credentialEndpoints =
+            ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register");
+    private final ServerWebExchangeMatcher availabilityEndpoint = new OrServerWebExchangeMatcher(
+            ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/auth/availability"),
+            ServerWebExchangeMatchers.pathMatchers(HttpMethod.HEAD, "/api/auth/availability"));
+
+    private final LoginThrottle loginThrottle;
+    private final ObjectMapper objectMapper;
+
+    public LoginRateLimitFilter(LoginThrottle loginThrottle, ObjectMapper objectMapper) {
+        this.loginThrottle = loginThrottle;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return credentialEndpoints.matches(exchange)
+                .flatMap(credentials -> credentials.isMatch()
+                        ? loginThrottle.checkClient(clientAddress(exchange))
+                        : availabilityEndpoint.matches(exchange)
+                                .flatMap(availability -> availability.isMatch()
+                                        ? loginThrottle.checkAvailabilityClient(clientAddress(exchange))
+                                        : Mono.just(Duration.ZERO)))
+                .flatMap(wait -> wait.isZero() ? chain.filter(exchange) : reject(exchange, wait));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, Duration wait) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds(wait));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.error("Too many requests, please retry later"));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    static String retryAfterSeconds(Duration wait) {
+        return Long.toString(Math.max(1, (wait.toMillis() + 999) / 1000));
+    }
+
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,68 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.RefreshToken;
+import com.bcp.security.domain.port.out.RefreshTokenIssuer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Creates opaque refresh tokens. The caller gets the random value, while only its SHA-256
+ * is meant to be stored, so a leaked table cannot be replayed.
+ */
+@Component
+public class OpaqueRefreshTokenIssuer implements RefreshTokenIssuer {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final long refreshTokenValidityInMilliseconds;
+
+    public OpaqueRefreshTokenIssuer(@Value("${jwt.refresh.expiration}") long refreshTokenValidityInMilliseconds) {
+        this.refreshTokenValidityInMilliseconds = refreshTokenValidityInMilliseconds;
+    }
+
+    @Override
+    public Issued issue(String familyId, String username) {
+        Instant now = Instant.now();
+        return issue(familyId, username, now.plusMillis(refreshTokenValidityInMilliseconds), now);
+    }
+
+    @Override
+    public Issued rotate(RefreshToken previous) {
+        return issue(previous.getFamilyId(), previous.getUsername(), previous.getFamilyExpiresAt(), Instant.now());
+    }
+
+    private Issued issue(String familyId, String username, Instant familyExpiresAt, Instant now) {
+        byte[] random = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        Instant expiresAt = now.plusMillis(refreshTokenValidityInMilliseconds);
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(hash(value))
+                .familyId(familyId)
+                .username(username)
+                .expiresAt(expiresAt.isAfter(familyExpiresAt) ? familyExpiresAt : expiresAt)
+                .familyExpiresAt(familyExpiresAt)
+                .build();
+        return new Issued(value, refreshToken);
+    }
+
+    @Override
+    public String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.bcp.security.infrastructure.security;
+
+import java.util.concurrent.RejectedExecutionException;
+
+public class PasswordHashingRejectedException extends RejectedExecutionException {
+
+    public PasswordHashingRejectedException(Throwable cause) {
+        super("Password hashing capacity exhausted, retry later", cause);
+    }
+}
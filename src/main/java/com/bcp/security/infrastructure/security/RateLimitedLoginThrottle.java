@@ -0,0 +1,147 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.exception.TooManyAttemptsException;
+import com.bcp.security.domain.model.RateLimit;
+import com.bcp.security.domain.port.out.LoginThrottle;
+import com.bcp.security.domain.port.out.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * {@link LoginThrottle} over a {@link RateLimitStore}: a token bucket per client address and per username, plus a
+ * lockout per username that doubles with every failure past the threshold. Everything is
+ * checked before a password is verified, so rejected attempts cost no BCrypt work.
+ */
+@Slf4j
+@Component
+public class RateLimitedLoginThrottle implements LoginThrottle {
+
+    private static final String CLIENT_PREFIX = "client:";
+    private static final String USERNAME_PREFIX = "username:";
+    private static final String AVAILABILITY_PREFIX = "availability:";
+    private static final String REJECTED_METRIC = "security.ratelimit.rejected";
+
+    private final RateLimitStore rateLimitStore;
+    private final RateLimit clientLimit;
+    private final RateLimit usernameLimit;
+    private final RateLimit availabilityLimit;
+    private final long lockoutThreshold;
+    private final Duration failureWindow;
+    private final Duration baseLockout;
+    private final Duration maxLockout;
+    private final Counter clientRejections;
+    private final Counter usernameRejections;
+    private final Counter availabilityRejections;
+    private final Counter lockoutRejections;
+    private final Counter lockouts;
+
+    public RateLimitedLoginThrottle(
+            RateLimitStore rateLimitStore,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.client.capacity}") long clientCapacity,
+            @Value("${rate-limit.client.period}") long clientPeriodInMilliseconds,
+            @Value("${rate-limit.username.capacity}") long usernameCapacity,
+            @Value("${rate-limit.username.period}") long usernamePeriodInMilliseconds,
+            @Value("${rate-limit.availability.capacity}") long availabilityCapacity,
+            @Value("${rate-limit.availability.period}") long availabilityPeriodInMilliseconds,
+            @Value("${rate-limit.lockout.threshold}") long lockoutThreshold,
+            @Value("${rate-limit.lockout.failure-window}") long failureWindowInMilliseconds,
+            @Value("${rate-limit.lockout.base-duration}") long baseLockoutInMilliseconds,
+            @Value("${rate-limit.lockout.max-duration}") long maxLockoutInMilliseconds) {
+        this.rateLimitStore = rateLimitStore;
+        this.clientLimit = new RateLimit(clientCapacity, Duration.ofMillis(clientPeriodInMilliseconds));
+        this.usernameLimit = new RateLimit(usernameCapacity, Duration.ofMillis(usernamePeriodInMilliseconds));
+        this.availabilityLimit = new RateLimit(availabilityCapacity, Duration.ofMillis(availabilityPeriodInMilliseconds));
+        this.lockoutThreshold = lockoutThreshold;
+        this.failureWindow = Duration.ofMillis(failureWindowInMilliseconds);
+        this.baseLockout = Duration.ofMillis(baseLockoutInMilliseconds);
+        this.maxLockout = Duration.ofMillis(maxLockoutInMilliseconds);
+        this.clientRejections = meterRegistry.counter(REJECTED_METRIC, "limit", "client");
+        this.usernameRejections = meterRegistry.counter(REJECTED_METRIC, "limit", "username");
+        this.availabilityRejections = meterRegistry.counter(REJECTED_METRIC, "limit", "availability");
+        this.lockoutRejections = meterRegistry.counter(REJECTED_METRIC, "limit", "lockout");
+        this.lockouts = meterRegistry.counter("security.login.lockouts");
+    }
+
+    @Override
+    public Mono<Duration> checkClient(String clientAddress) {
+        return rateLimitStore.tryConsume(CLIENT_PREFIX + clientAddress, clientLimit)
+                .doOnNext(wait -> {
+                    if (!wait.isZero()) {
+                        clientRejections.increment();
+                    }
+                });
+    }
+
+    /**
+     * The availability budget is larger but separate, as the check would otherwise let anyone
+     * enumerate registered usernames and emails.
+     */
+    @Override
+    public Mono<Duration> checkAvailabilityClient(String clientAddress) {
+        return rateLimitStore.tryConsume(AVAILABILITY_PREFIX + clientAddress, availabilityLimit)
+                .doOnNext(wait -> {
+                    if (!wait.isZero()) {
+                        availabilityRejections.increment();
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Void> checkUsername(String username) {
+        String key = usernameKey(username);
+        return rateLimitStore.lockedUntil(key)
+                .flatMap(lockedUntil -> {
+                    lockoutRejections.increment();
+                    return Mono.<Void>error(new TooManyAttemptsException("Account temporarily locked",
+                            Duration.between(Instant.now(), lockedUntil)));
+                })
+                .then(rateLimitStore.tryConsume(key, usernameLimit))
+                .flatMap(wait -> {
+                    if (wait.isZero()) {
+                        return Mono.empty();
+                    }
+                    usernameRejections.increment();
+                    return Mono.error(new TooManyAttemptsException("Too many login attempts", wait));
+                });
+    }
+
+    @Override
+    public Mono<Void> recordFailure(String username) {
+        String key = usernameKey(username);
+        return rateLimitStore.recordFailure(key, failureWindow)
+                .flatMap(failures -> {
+                    if (failures < lockoutThreshold) {
+                        return Mono.empty();
+                    }
+                    Duration lockout = lockoutFor(failures);
+                    lockouts.increment();
+                    log.info("Locking out {} for {} after {} failed logins", username, lockout, failures);
+                    return rateLimitStore.lockUntil(key, Instant.now().plus(lockout));
+                });
+    }
+
+    @Override
+    public Mono<Void> recordSuccess(String username) {
+        return rateLimitStore.resetFailures(usernameKey(username));
+    }
+
+    private Duration lockoutFor(long failures) {
+        long doublings = Math.min(failures - lockoutThreshold, 30);
+        Duration lockout = baseLockout.multipliedBy(1L << doublings);
+        return lockout.compareTo(maxLockout) > 0 ? maxLockout : lockout;
+    }
+
+    private static String usernameKey(String username) {
+        // MySQL compara los usernames sin distinguir mayúsculas
+        return USERNAME_PREFIX + username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,212 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.infrastructure.adapter.persistence.RoleCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a token's authorities as a bitmask of role ids ({@code rb}) plus the role catalog
+ * version it was built against ({@code rv}), instead of a comma-separated list of names.
+ * Decoding returns interned immutable lists, one per distinct role combination, so the
+ * request path allocates no authorities.
+ * <p>
+ * A token from another catalog version is decoded against the snapshot it was issued with
+ * when this node still has it, and its roles are then looked up by name, dropping the ones
+ * deleted since. Otherwise it decodes by id only if every bit names a role of the current
+ * snapshot, and is rejected if not. That relies on role ids never being reused, which holds
+ * on MySQL 8+, where InnoDB persists the AUTO_INCREMENT counter across restarts.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleClaimCodec {
+
+    static final String BITS_CLAIM = "rb";
+    static final String VERSION_CLAIM = "rv";
+    static final String NAMES_CLAIM = "auth";
+
+    private static final int MAX_ROLE_ID = Long.SIZE - 1;
+    private static final int MAX_INTERNED = 1024;
+    private static final long MISMATCH_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_PREVIOUS_VERSIONS = 8;
+
+    private final RoleCatalog roleCatalog;
+    private final Map<String, List<GrantedAuthority>> authoritiesByNames = new ConcurrentHashMap<>();
+    private final Map<Long, Decoding> previousDecodings = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Decoding> eldest) {
+            return size() > MAX_PREVIOUS_VERSIONS;
+        }
+    });
+
+    private volatile Decoding decoding;
+    private volatile long lastMismatchRefresh = System.nanoTime() - MISMATCH_REFRESH_INTERVAL;
+
+    /**
+     * Returns null when the authorities cannot be expressed as a bitmask (catalog not loaded
+     * yet, unknown role, or a role id beyond the mask), in which case the names claim is used.
+     */
+    public RoleClaim encode(Collection<? extends GrantedAuthority> authorities) {
+        Decoding current = decoding();
+        if (current == null) {
+            return null;
+        }
+        long bits = 0;
+        for (GrantedAuthority authority : authorities) {
+            Role role = current.snapshot().byName().get(authority.getAuthority());
+            if (role == null || role.getId() < 0 || role.getId() > MAX_ROLE_ID) {
+                return null;
+            }
+            bits |= 1L << role.getId();
+        }
+        return new RoleClaim(bits, current.snapshot().version());
+    }
+
+    /**
+     * Returns null while the role catalog has never been loaded, and for a mask from an
+     * unknown catalog version naming role ids the current snapshot does not have.
+     */
+    public List<GrantedAuthority> decode(long bits, long version) {
+        Decoding current = decoding();
+        if (current == null) {
+            return null;
+        }
+        if (version == current.snapshot().version()) {
+            return current.authorities(bits);
+        }
+        refreshOnMismatch();
+        Decoding issuedWith = previousDecodings.get(version);
+        if (issuedWith != null) {
+            return current.authorities(current.bitsOf(issuedWith.authorities(bits)));
+        }
+        // Versión desconocida (p. ej. de un nodo con un catálogo más nuevo): solo ids que existen hoy
+        return (bits & ~current.knownBits()) == 0 ? current.authorities(bits) : null;
+    }
+
+    /**
+     * Decodes the legacy comma-separated names claim, interning the result as well.
+     */
+    public List<GrantedAuthority> decodeNames(String names) {
+        List<GrantedAuthority> authorities = authoritiesByNames.get(names);
+        if (authorities != null) {
+            return authorities;
+        }
+        List<GrantedAuthority> parsed = new ArrayList<>();
+        for (String name : names.split(",")) {
+            parsed.add(new SimpleGrantedAuthority(name));
+        }
+        authorities = List.copyOf(parsed);
+        if (authoritiesByNames.size() < MAX_INTERNED) {
+            authoritiesByNames.putIfAbsent(names, authorities);
+        }
+        return authorities;
+    }
+
+    private Decoding decoding() {
+        RoleCatalog.Snapshot snapshot = roleCatalog.currentSnapshot();
+        if (snapshot == null) {
+            return null;
+        }
+        Decoding current = decoding;
+        if (current == null || current.snapshot() != snapshot) {
+            if (current != null) {
+                previousDecodings.put(current.snapshot().version(), current);
+            }
+            current = previousDecodings.containsKey(snapshot.version())
+                    ? previousDecodings.remove(snapshot.version())
+                    : new Decoding(snapshot);
+            decoding = current;
+        }
+        return current;
+    }
+
+    /**
+     * The token may come from a node that already sees a newer catalog; reload it, but not on
+     * every request while tokens from an older catalog are still in circulation.
+     */
+    private void refreshOnMismatch() {
+        long now = System.nanoTime();
+        long last = lastMismatchRefresh;
+        if (now - last >= MISMATCH_REFRESH_INTERVAL) {
+            lastMismatchRefresh = now;
+            roleCatalog.refreshInBackground();
+        }
+    }
+
+    public record RoleClaim(long bits, long version) {
+    }
+
+    private record Decoding(RoleCatalog.Snapshot snapshot,
+                            GrantedAuthority[] authoritiesById,
+                            Map<Long, List<GrantedAuthority>> authoritiesByBits,
+                            long knownBits) {
+
+        Decoding(RoleCatalog.Snapshot snapshot) {
+            this(snapshot, authoritiesById(snapshot), new ConcurrentHashMap<>(), knownBits(snapshot));
+        }
+
+        private static GrantedAuthority[] authoritiesById(RoleCatalog.Snapshot snapshot) {
+            GrantedAuthority[] authoritiesById = new GrantedAuthority[MAX_ROLE_ID + 1];
+            snapshot.byId().forEach((id, role) -> {
+                if (id >= 0 && id <= MAX_ROLE_ID) {
+                    authoritiesById[id.intValue()] = new SimpleGrantedAuthority(role.getName());
+                }
+            });
+            return authoritiesById;
+        }
+
+        private static long knownBits(RoleCatalog.Snapshot snapshot) {
+            long bits = 0;
+            for (Long id : snapshot.byId().keySet()) {
+                if (id >= 0 && id <= MAX_ROLE_ID) {
+                    bits |= 1L << id;
+                }
+            }
+            return bits;
+        }
+
+        /**
+         * Mask of the given authorities in this snapshot; names it does not have are dropped.
+         */
+        long bitsOf(List<GrantedAuthority> authorities) {
+            long bits = 0;
+            for (GrantedAuthority authority : authorities) {
+                Role role = snapshot.byName().get(authority.getAuthority());
+                if (role != null && role.getId() >= 0 && role.getId() <= MAX_ROLE_ID) {
+                    bits |= 1L << role.getId();
+                }
+            }
+            return bits;
+        }
+
+        List<GrantedAuthority> authorities(long bits) {
+            List<GrantedAuthority> authorities = authoritiesByBits.get(bits);
+            if (authorities != null) {
+                return authorities;
+            }
+            List<GrantedAuthority> decoded = new ArrayList<>(Long.bitCount(bits));
+            for (long remaining = bits; remaining != 0; remaining &= remaining - 1) {
+                GrantedAuthority authority = authoritiesById[Long.numberOfTrailingZeros(remaining)];
+                if (authority != null) {
+                    decoded.add(authority);
+                }
+            }
+            authorities = List.copyOf(decoded);
+            if (authoritiesByBits.size() < MAX_INTERNED) {
+                authoritiesByBits.putIfAbsent(bits, authorities);
+            }
+            return authorities;
+        }
+    }
+}
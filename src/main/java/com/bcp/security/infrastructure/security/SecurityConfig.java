@@ -1,23 +1,35 @@
 package com.bcp.security.infrastructure.security;
 
+import com.bcp.security.domain.port.out.LoginThrottle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebFluxSecurity
+@EnableReactiveMethodSecurity // los @PreAuthorize de los controladores no se evalúan sin esto
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationList revocationList;
+    private final LoginThrottle loginThrottle;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
@@ -27,17 +39,35 @@ public class SecurityConfig {
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
                 .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
                 .authorizeExchange(exchanges -> exchanges
-                        .pathMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register", "/api/auth/refresh").permitAll()
                         .pathMatchers(HttpMethod.GET, "/api/health").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/auth/availability").permitAll()
+                        .pathMatchers(HttpMethod.HEAD, "/api/auth/availability").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                        // Métricas, info y prometheus exponen detalles operativos: solo administradores
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .pathMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyExchange().authenticated()
                 )
-                .addFilterAt(new JwtAuthenticationFilter(tokenProvider), SecurityWebFiltersOrder.HTTP_BASIC)
+                .addFilterAt(new LoginRateLimitFilter(loginThrottle, objectMapper), SecurityWebFiltersOrder.FIRST)
+                .addFilterAt(new JwtAuthenticationFilter(tokenProvider, revocationList, meterRegistry), SecurityWebFiltersOrder.HTTP_BASIC)
                 .build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${password.encoder.id}") String encodingId,
+            @Value("${password.encoder.bcrypt-strength}") int bcryptStrength,
+            @Value("${password.encoder.pbkdf2-iterations}") int pbkdf2Iterations) {
+        PasswordEncoder bcrypt = new CostAwareBCryptPasswordEncoder(bcryptStrength);
+        PasswordEncoder pbkdf2 = new IterationAwarePbkdf2PasswordEncoder(pbkdf2Iterations);
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId, Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", pbkdf2));
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 }
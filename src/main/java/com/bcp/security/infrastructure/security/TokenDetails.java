@@ -0,0 +1,12 @@
+package com.bcp.security.infrastructure.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of the bearer token kept as the authentication details, so revocation checks and
+ * logout do not have to parse the token again. {@code tokenId} and {@code issuedAt} are
+ * null for legacy tokens; {@code sessionId} is the refresh family, null for tokens issued
+ * before it was added.
+ */
+public record TokenDetails(String tokenId, Instant issuedAt, Instant expiresAt, String sessionId) {
+}
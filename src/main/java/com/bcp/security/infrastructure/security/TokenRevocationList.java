@@ -0,0 +1,166 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import com.bcp.security.domain.port.out.RevocationBus;
+import com.bcp.security.domain.port.out.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process view of the active revocations, consulted on every authenticated request.
+ * A Bloom filter per key type sits in front of the exact maps, so the common case of a
+ * token nobody revoked is answered without touching a map or doing I/O. Revocations arrive
+ * through the {@link RevocationBus}; the database copy is reloaded periodically, which also
+ * drops expired entries and rebuilds the filters.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final TokenRevocationRepository revocationRepository;
+    private final RevocationBus revocationBus;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    private volatile State state;
+    private Disposable subscription;
+
+    public TokenRevocationList(
+            TokenRevocationRepository revocationRepository,
+            RevocationBus revocationBus,
+            @Value("${jwt.revocation.expected-entries}") long expectedEntries,
+            @Value("${jwt.revocation.false-positive-rate}") double falsePositiveRate) {
+        this.revocationRepository = revocationRepository;
+        this.revocationBus = revocationBus;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.state = new State(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * A user revocation covers every token issued up to and including its second, since
+     * {@code iat} has no sub-second precision; tokens without {@code iat} are always covered.
+     */
+    public boolean isRevoked(String tokenId, String username, Instant issuedAt) {
+        State current = state;
+        if (tokenId != null && current.tokenFilter.mightContain(tokenId)
+                && current.tokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (username != null && current.userFilter.mightContain(username)) {
+            TokenRevocation revocation = current.users.get(username);
+            return revocation != null
+                    && (issuedAt == null || !issuedAt.isAfter(revocation.getRevokedAt()));
+        }
+        return false;
+    }
+
+    public void apply(TokenRevocation revocation) {
+        // Reintenta si una recarga reemplazó el estado mientras se aplicaba
+        State current;
+        do {
+            current = state;
+            current.add(revocation);
+        } while (current != state);
+    }
+
+    public Mono<Void> reload() {
+        Instant now = Instant.now();
+        return revocationRepository.findActive(now)
+                .collectList()
+                .doOnNext(stored -> {
+                    State previous = state;
+                    long entries = stored.size() + previous.size();
+                    State next = new State(Math.max(expectedEntries, entries * 2), falsePositiveRate);
+                    stored.forEach(next::add);
+                    previous.copyActiveTo(next, now);
+                    state = next;
+                    log.debug("Revocation list loaded with {} entries", next.size());
+                })
+                .then();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        subscription = revocationBus.revocations()
+                .subscribe(this::apply, e -> log.error("Revocation bus subscription failed", e));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reloadInBackground(reload());
+    }
+
+    @Scheduled(
+            initialDelayString = "${jwt.revocation.reload-interval}",
+            fixedDelayString = "${jwt.revocation.reload-interval}")
+    public void scheduledReload() {
+        reloadInBackground(revocationRepository.deleteExpired(Instant.now()).then(reload()));
+    }
+
+    private void reloadInBackground(Mono<Void> reload) {
+        if (!reloading.compareAndSet(false, true)) {
+            return;
+        }
+        reload.doFinally(signal -> reloading.set(false))
+                .subscribe(null, e -> log.warn("Could not reload token revocations: {}", e.getMessage()));
+    }
+
+    private static final class State {
+
+        private final BloomFilter tokenFilter;
+        private final BloomFilter userFilter;
+        private final Map<String, TokenRevocation> tokens = new ConcurrentHashMap<>();
+        private final Map<String, TokenRevocation> users = new ConcurrentHashMap<>();
+
+        State(long expectedEntries, double falsePositiveRate) {
+            this.tokenFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+            this.userFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        }
+
+        void add(TokenRevocation revocation) {
+            if (revocation.getType() == TokenRevocation.Type.TOKEN) {
+                tokens.put(revocation.getSubject(), revocation);
+                tokenFilter.put(revocation.getSubject());
+            } else {
+                users.merge(revocation.getSubject(), revocation, (existing, added) ->
+                        added.getRevokedAt().isAfter(existing.getRevokedAt()) ? added : existing);
+                userFilter.put(revocation.getSubject());
+            }
+        }
+
+        void copyActiveTo(State target, Instant now) {
+            for (Map<String, TokenRevocation> entries : List.of(tokens, users)) {
+                entries.values().stream()
+                        .filter(revocation -> revocation.getExpiresAt().isAfter(now))
+                        .forEach(target::add);
+            }
+        }
+
+        long size() {
+            return tokens.size() + users.size();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bcp.security.infrastructure.security;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenValidation {
+
+    public enum Failure {
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID_CLAIMS
+    }
+
+    private final Authentication authentication;
+    private final Failure failure;
+
+    public static TokenValidation valid(Authentication authentication) {
+        return new TokenValidation(authentication, null);
+    }
+
+    public static TokenValidation invalid(Failure failure) {
+        return new TokenValidation(null, failure);
+    }
+
+    public boolean isValid() {
+        return authentication != null;
+    }
+}
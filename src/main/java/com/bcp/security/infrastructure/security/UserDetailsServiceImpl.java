@@ -2,7 +2,9 @@ package com.bcp.security.infrastructure.security;
 
 import com.bcp.security.domain.port.in.UserUseCase;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,9 +13,10 @@ import reactor.core.publisher.Mono;
 
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements ReactiveUserDetailsService {
+public class UserDetailsServiceImpl implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
 
     private final UserUseCase userUseCase;
 
@@ -33,4 +36,16 @@ public class UserDetailsServiceImpl implements ReactiveUserDetailsService {
                     );
                 });
     }
+
+    /**
+     * Called after a successful login whose stored hash uses stale encoder settings. The
+     * re-encoded hash is written back in the background so the login does not wait on it.
+     */
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        userUseCase.updatePasswordHash(user.getUsername(), newPassword)
+                .subscribe(null, e -> log.warn("Could not upgrade password hash for {}: {}",
+                        user.getUsername(), e.getMessage()));
+        return Mono.just(User.withUserDetails(user).password(newPassword).build());
+    }
 }
@@ -0,0 +1,390 @@
+package com.bcp.security.infrastructure.web.codec;
+
+import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
+import com.bcp.security.infrastructure.web.dto.response.JwtResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserPageResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link ApiResponse} envelopes straight into the response {@link DataBuffer} when
+ * their payload is empty, a {@link UserResponse}, a {@link UserPageResponse} or a
+ * {@link JwtResponse}. Field names, status values and the default success message are
+ * encoded once, and the timestamp, shared by every envelope created within the same
+ * millisecond, is encoded once per millisecond. The output is byte-for-byte what the Jackson
+ * codec produces; any other payload, and any multi-value stream, goes to that codec.
+ */
+public class ApiResponseEncoder implements HttpMessageEncoder<ApiResponse<?>> {
+
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_JSON);
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final byte[] STATUS_SUCCESS = ascii("\"status\":\"" + ApiResponse.STATUS_SUCCESS + "\"");
+    private static final byte[] STATUS_ERROR = ascii("\"status\":\"" + ApiResponse.STATUS_ERROR + "\"");
+    private static final byte[] STATUS = ascii("\"status\":");
+    private static final byte[] DEFAULT_SUCCESS_MESSAGE = ascii("\"message\":\"" + ApiResponse.DEFAULT_SUCCESS_MESSAGE + "\"");
+    private static final byte[] MESSAGE = ascii("\"message\":");
+    private static final byte[] DATA = ascii("\"data\":");
+    private static final byte[] TIMESTAMP = ascii("\"timestamp\":");
+    private static final byte[] USER_ID = ascii("{\"id\":");
+    private static final byte[] USER_USERNAME = ascii(",\"username\":");
+    private static final byte[] USER_EMAIL = ascii(",\"email\":");
+    private static final byte[] USER_ROLES = ascii(",\"roles\":");
+    private static final byte[] USER_CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] PAGE_USERS = ascii("{\"users\":");
+    private static final byte[] PAGE_NEXT_CURSOR = ascii(",\"nextCursor\":");
+    private static final byte[] JWT_TOKEN = ascii("{\"token\":");
+    private static final byte[] JWT_TYPE = ascii(",\"type\":");
+    private static final byte[] JWT_REFRESH_TOKEN = ascii(",\"refreshToken\":");
+    private static final byte[] JWT_EXPIRES_IN = ascii(",\"expiresIn\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private final HttpMessageEncoder<Object> fallback;
+
+    private volatile EncodedTimestamp lastTimestamp = new EncodedTimestamp(null, NULL);
+
+    public ApiResponseEncoder(HttpMessageEncoder<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> clazz = elementType.toClass();
+        return ApiResponse.class.isAssignableFrom(clazz)
+                && (mimeType == null || MIME_TYPES.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType)));
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return List.of();
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends ApiResponse<?>> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono<? extends ApiResponse<?>> mono) {
+            return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        return fallback.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+    }
+
+    @Override
+    public DataBuffer encodeValue(ApiResponse<?> value, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        Object data = value.getData();
+        if (data != null && !(data instanceof UserResponse)
+                && !(data instanceof UserPageResponse) && !(data instanceof JwtResponse)) {
+            return fallback.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_CAPACITY);
+        try {
+            writeEnvelope(buffer, value);
+            return buffer;
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    private void writeEnvelope(DataBuffer buffer, ApiResponse<?> value) {
+        // ApiResponse omite los campos nulos (@JsonInclude NON_NULL)
+        buffer.write((byte) '{');
+        boolean first = true;
+
+        String status = value.getStatus();
+        if (status != null) {
+            if (ApiResponse.STATUS_SUCCESS.equals(status)) {
+                buffer.write(STATUS_SUCCESS);
+            } else if (ApiResponse.STATUS_ERROR.equals(status)) {
+                buffer.write(STATUS_ERROR);
+            } else {
+                buffer.write(STATUS);
+                writeString(buffer, status);
+            }
+            first = false;
+        }
+
+        String message = value.getMessage();
+        if (message != null) {
+            first = separate(buffer, first);
+            if (ApiResponse.DEFAULT_SUCCESS_MESSAGE.equals(message)) {
+                buffer.write(DEFAULT_SUCCESS_MESSAGE);
+            } else {
+                buffer.write(MESSAGE);
+                writeString(buffer, message);
+            }
+        }
+
+        Object data = value.getData();
+        if (data != null) {
+            first = separate(buffer, first);
+            buffer.write(DATA);
+            if (data instanceof UserResponse user) {
+                writeUser(buffer, user);
+            } else if (data instanceof UserPageResponse page) {
+                writePage(buffer, page);
+            } else {
+                writeJwt(buffer, (JwtResponse) data);
+            }
+        }
+
+        LocalDateTime timestamp = value.getTimestamp();
+        if (timestamp != null) {
+            separate(buffer, first);
+            buffer.write(TIMESTAMP);
+            buffer.write(encodedTimestamp(timestamp));
+        }
+        buffer.write((byte) '}');
+    }
+
+    private static boolean separate(DataBuffer buffer, boolean first) {
+        if (!first) {
+            buffer.write((byte) ',');
+        }
+        return false;
+    }
+
+    private byte[] encodedTimestamp(LocalDateTime timestamp) {
+        EncodedTimestamp last = lastTimestamp;
+        if (last.value() != timestamp) {
+            last = new EncodedTimestamp(timestamp, ascii('"' + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp) + '"'));
+            lastTimestamp = last;
+        }
+        return last.encoded();
+    }
+
+    private static void writeUser(DataBuffer buffer, UserResponse user) {
+        buffer.write(USER_ID);
+        writeLong(buffer, user.getId());
+        buffer.write(USER_USERNAME);
+        writeString(buffer, user.getUsername());
+        buffer.write(USER_EMAIL);
+        writeString(buffer, user.getEmail());
+        buffer.write(USER_ROLES);
+        writeStrings(buffer, user.getRoles());
+        buffer.write(USER_CREATED_AT);
+        writeDateTime(buffer, user.getCreatedAt());
+        buffer.write((byte) '}');
+    }
+
+    private static void writePage(DataBuffer buffer, UserPageResponse page) {
+        buffer.write(PAGE_USERS);
+        List<UserResponse> users = page.getUsers();
+        if (users == null) {
+            buffer.write(NULL);
+        } else {
+            buffer.write((byte) '[');
+            for (int i = 0; i < users.size(); i++) {
+                if (i > 0) {
+                    buffer.write((byte) ',');
+                }
+                UserResponse user = users.get(i);
+                if (user == null) {
+                    buffer.write(NULL);
+                } else {
+                    writeUser(buffer, user);
+                }
+            }
+            buffer.write((byte) ']');
+        }
+        buffer.write(PAGE_NEXT_CURSOR);
+        writeLong(buffer, page.getNextCursor());
+        buffer.write((byte) '}');
+    }
+
+    private static void writeJwt(DataBuffer buffer, JwtResponse jwt) {
+        buffer.write(JWT_TOKEN);
+        writeString(buffer, jwt.getToken());
+        buffer.write(JWT_TYPE);
+        writeString(buffer, jwt.getType());
+        buffer.write(JWT_REFRESH_TOKEN);
+        writeString(buffer, jwt.getRefreshToken());
+        buffer.write(JWT_EXPIRES_IN);
+        writeLong(buffer, jwt.getExpiresIn());
+        buffer.write((byte) '}');
+    }
+
+    private static void writeStrings(DataBuffer buffer, Collection<String> values) {
+        if (values == null) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write((byte) '[');
+        boolean first = true;
+        for (String value : values) {
+            if (!first) {
+                buffer.write((byte) ',');
+            }
+            writeString(buffer, value);
+            first = false;
+        }
+        buffer.write((byte) ']');
+    }
+
+    /**
+     * Same escaping as Jackson's default: quotes, backslashes and control characters are
+     * escaped, and so is each UTF-16 surrogate, since Jackson does not combine surrogate pairs
+     * in UTF-8 output unless {@code COMBINE_UNICODE_SURROGATES_IN_UTF8} is enabled. Everything
+     * else is written as UTF-8.
+     */
+    private static void writeString(DataBuffer buffer, String value) {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write((byte) '"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buffer.write((byte) '\\');
+                    buffer.write((byte) c);
+                } else if (c < 0x20) {
+                    writeControl(buffer, c);
+                } else {
+                    buffer.write((byte) c);
+                }
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | (c >> 6)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                writeUnicodeEscape(buffer, c);
+            } else {
+                buffer.write((byte) (0xE0 | (c >> 12)));
+                buffer.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        buffer.write((byte) '"');
+    }
+
+    private static void writeControl(DataBuffer buffer, char c) {
+        buffer.write((byte) '\\');
+        switch (c) {
+            case '\n' -> buffer.write((byte) 'n');
+            case '\r' -> buffer.write((byte) 'r');
+            case '\t' -> buffer.write((byte) 't');
+            case '\b' -> buffer.write((byte) 'b');
+            case '\f' -> buffer.write((byte) 'f');
+            default -> {
+                buffer.write((byte) 'u');
+                buffer.write((byte) '0');
+                buffer.write((byte) '0');
+                buffer.write(HEX[c >> 4]);
+                buffer.write(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private static void writeUnicodeEscape(DataBuffer buffer, char c) {
+        buffer.write((byte) '\\');
+        buffer.write((byte) 'u');
+        buffer.write(HEX[c >> 12]);
+        buffer.write(HEX[(c >> 8) & 0xF]);
+        buffer.write(HEX[(c >> 4) & 0xF]);
+        buffer.write(HEX[c & 0xF]);
+    }
+
+    private static void writeLong(DataBuffer buffer, Long value) {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+        long remaining = value;
+        if (remaining == Long.MIN_VALUE) {
+            buffer.write(ascii(Long.toString(remaining)));
+            return;
+        }
+        if (remaining < 0) {
+            buffer.write((byte) '-');
+            remaining = -remaining;
+        }
+        writeDigits(buffer, remaining, 1);
+    }
+
+    /**
+     * Writes the digits of a non-negative value, left-padded with zeros to at least
+     * {@code minDigits}.
+     */
+    private static void writeDigits(DataBuffer buffer, long value, int minDigits) {
+        long divisor = 1;
+        int digits = 1;
+        while (digits < 19 && (digits < minDigits || value / divisor >= 10)) {
+            divisor *= 10;
+            digits++;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.write((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    /**
+     * ISO_LOCAL_DATE_TIME, the format Jackson uses for LocalDateTime: the fraction keeps only
+     * its significant digits and is omitted when zero.
+     */
+    private static void writeDateTime(DataBuffer buffer, LocalDateTime value) {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            buffer.write(ascii('"' + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + '"'));
+            return;
+        }
+        buffer.write((byte) '"');
+        writeDigits(buffer, year, 4);
+        buffer.write((byte) '-');
+        writeDigits(buffer, value.getMonthValue(), 2);
+        buffer.write((byte) '-');
+        writeDigits(buffer, value.getDayOfMonth(), 2);
+        buffer.write((byte) 'T');
+        writeDigits(buffer, value.getHour(), 2);
+        buffer.write((byte) ':');
+        writeDigits(buffer, value.getMinute(), 2);
+        buffer.write((byte) ':');
+        writeDigits(buffer, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            buffer.write((byte) '.');
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            writeDigits(buffer, nano, digits);
+        }
+        buffer.write((byte) '"');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record EncodedTimestamp(LocalDateTime value, byte[] encoded) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.bcp.security.infrastructure.web.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Registers {@link ApiResponseEncoder} ahead of the Jackson codec. It only claims
+ * ApiResponse, so it is registered as a typed writer and consulted before the catch-all
+ * Jackson writer; payloads it does not handle fall back to a Jackson encoder built on the
+ * application's ObjectMapper.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebCodecConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new ApiResponseEncoder(new Jackson2JsonEncoder(objectMapper)));
+    }
+}
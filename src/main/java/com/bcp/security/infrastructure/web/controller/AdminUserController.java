@@ -0,0 +1,104 @@
+package com.bcp.security.infrastructure.web.controller;
+
+import com.bcp.security.domain.model.UserExportFormat;
+import com.bcp.security.domain.model.UserImportRecord;
+import com.bcp.security.domain.port.in.AuthUseCase;
+import com.bcp.security.domain.port.in.TokenRevocationUseCase;
+import com.bcp.security.infrastructure.adapter.export.UserExportWriter;
+import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserExportResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserImportResponse;
+import com.bcp.security.infrastructure.web.mapper.UserDtoMapper;
+import com.bcp.security.infrastructure.web.mapper.UserImportParser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final AuthUseCase authUseCase;
+    private final TokenRevocationUseCase tokenRevocationUseCase;
+    private final UserDtoMapper userDtoMapper;
+    private final UserImportParser userImportParser;
+    private final UserExportWriter userExportWriter;
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<UserImportResponse>> importNdjson(@RequestBody Flux<String> lines) {
+        Flux<UserImportRecord> records = lines.index()
+                .filter(line -> !line.getT2().isBlank())
+                .map(line -> userImportParser.fromJson(line.getT1() + 1, line.getT2()));
+        return importUsers(records);
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<UserImportResponse>> importCsv(@RequestBody Flux<String> lines) {
+        Flux<UserImportRecord> records = lines.index()
+                .filter(line -> !line.getT2().isBlank())
+                .filter(line -> line.getT1() > 0 || !userImportParser.isCsvHeader(line.getT2()))
+                .map(line -> userImportParser.fromCsv(line.getT1() + 1, line.getT2()));
+        return importUsers(records);
+    }
+
+    /**
+     * Streams every user with an id greater than {@code after}; a client that lost the
+     * connection resumes with the last id it received.
+     */
+    @GetMapping("/export")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<DataBuffer> export(
+            @RequestParam(defaultValue = "CSV") UserExportFormat format,
+            @RequestParam(required = false) Long after,
+            ServerHttpResponse response) {
+        response.getHeaders().setContentType(userExportWriter.mediaType(format));
+        response.getHeaders().setContentDisposition(ContentDisposition.attachment()
+                .filename(userExportWriter.fileName("users", format))
+                .build());
+        return userExportWriter.stream(format, after, response.bufferFactory());
+    }
+
+    @PostMapping("/export-files/{name}")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<UserExportResponse>> exportToFile(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "CSV") UserExportFormat format) {
+        if (!userExportWriter.isValidName(name)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid export file name"));
+        }
+        return userExportWriter.writeToFile(format, name)
+                .map(userDtoMapper::toExportResponse)
+                .map(result -> ApiResponse.success("Export finished", result));
+    }
+
+    @PostMapping("/{username}/revoke-tokens")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<Void>> revokeTokens(@PathVariable String username) {
+        return tokenRevocationUseCase.revokeUser(username)
+                .then(Mono.fromSupplier(() -> ApiResponse.success("Tokens revoked for " + username, null)));
+    }
+
+    private Mono<ApiResponse<UserImportResponse>> importUsers(Flux<UserImportRecord> records) {
+        return authUseCase.importUsers(records)
+                .map(userDtoMapper::toImportResponse)
+                .map(result -> ApiResponse.success("Import finished", result));
+    }
+}
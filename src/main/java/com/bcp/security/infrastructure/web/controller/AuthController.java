@@ -1,16 +1,25 @@
 package com.bcp.security.infrastructure.web.controller;
 
+import com.bcp.security.domain.model.AuthTokens;
+import com.bcp.security.domain.model.UserAvailability;
 import com.bcp.security.domain.port.in.AuthUseCase;
+import com.bcp.security.domain.port.in.TokenRevocationUseCase;
+import com.bcp.security.infrastructure.security.TokenDetails;
 import com.bcp.security.infrastructure.web.dto.request.LoginRequest;
+import com.bcp.security.infrastructure.web.dto.request.RefreshTokenRequest;
 import com.bcp.security.infrastructure.web.dto.request.RegisterRequest;
 import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
 import com.bcp.security.infrastructure.web.dto.response.JwtResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserAvailabilityResponse;
 import com.bcp.security.infrastructure.web.dto.response.UserResponse;
 import com.bcp.security.infrastructure.web.mapper.UserDtoMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -19,16 +28,35 @@ import reactor.core.publisher.Mono;
 public class AuthController {
 
     private final AuthUseCase authUseCase;
+    private final TokenRevocationUseCase tokenRevocationUseCase;
     private final UserDtoMapper userDtoMapper;
 
     @PostMapping("/login")
     @ResponseStatus(HttpStatus.OK)
     public Mono<ApiResponse<JwtResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
         return authUseCase.login(loginRequest.getUsername(), loginRequest.getPassword())
-                .map(token -> JwtResponse.builder().token(token).build())
+                .map(this::toJwtResponse)
                 .map(ApiResponse::success);
     }
 
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ApiResponse<JwtResponse>> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return authUseCase.refresh(refreshTokenRequest.getRefreshToken())
+                .map(this::toJwtResponse)
+                .map(ApiResponse::success);
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ApiResponse<Void>> logout(Authentication authentication) {
+        Mono<Void> revocation = authentication.getDetails() instanceof TokenDetails details
+                ? tokenRevocationUseCase.logout(authentication.getName(), details.tokenId(), details.expiresAt(),
+                        details.sessionId())
+                : tokenRevocationUseCase.revokeUser(authentication.getName());
+        return revocation.then(Mono.fromSupplier(() -> ApiResponse.success("Token revoked", null)));
+    }
+
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
     public Mono<ApiResponse<UserResponse>> register(@Valid @RequestBody RegisterRequest registerRequest) {
@@ -36,4 +64,48 @@ public class AuthController {
                 .map(userDtoMapper::toResponse)
                 .map(userResponse -> ApiResponse.success("Usuario registrado exitosamente", userResponse));
     }
+
+    @GetMapping("/availability")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ApiResponse<UserAvailabilityResponse>> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return availability(username, email)
+                .map(availability -> UserAvailabilityResponse.builder()
+                        .available(availability.isAvailable())
+                        .usernameAvailable(availability.getUsernameAvailable())
+                        .emailAvailable(availability.getEmailAvailable())
+                        .build())
+                .map(ApiResponse::success);
+    }
+
+    /**
+     * Body-less variant for sign-up forms: 200 when everything asked about is free, 409 otherwise.
+     */
+    @RequestMapping(value = "/availability", method = RequestMethod.HEAD)
+    public Mono<ResponseEntity<Void>> headAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return availability(username, email)
+                .map(availability -> ResponseEntity
+                        .status(availability.isAvailable() ? HttpStatus.OK : HttpStatus.CONFLICT)
+                        .build());
+    }
+
+    private Mono<UserAvailability> availability(String username, String email) {
+        String checkedUsername = username == null || username.isBlank() ? null : username.trim();
+        String checkedEmail = email == null || email.isBlank() ? null : email.trim();
+        if (checkedUsername == null && checkedEmail == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "A username or an email is required"));
+        }
+        return authUseCase.checkAvailability(checkedUsername, checkedEmail);
+    }
+
+    private JwtResponse toJwtResponse(AuthTokens tokens) {
+        return JwtResponse.builder()
+                .token(tokens.getAccessToken())
+                .refreshToken(tokens.getRefreshToken())
+                .expiresIn(tokens.getExpiresInSeconds())
+                .build();
+    }
 }
@@ -0,0 +1,42 @@
+package com.bcp.security.infrastructure.web.controller;
+
+import com.bcp.security.infrastructure.security.JwtKeyRing;
+import com.bcp.security.infrastructure.web.dto.response.JwkSetResponse;
+import com.bcp.security.infrastructure.web.mapper.JwkMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Public key set for verifying our tokens without calling back into this service. Clients may
+ * cache it for {@link JwtKeyRing#publishedKeysMaxAge()}; the ETag changes whenever a key is
+ * added or retired.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final JwkMapper jwkMapper;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<JwkSetResponse>> getKeySet() {
+        return Mono.fromSupplier(() -> {
+            List<JwtKeyRing.RingKey> keys = keyRing.publishedKeys();
+            String etag = keys.stream()
+                    .map(JwtKeyRing.RingKey::kid)
+                    .collect(Collectors.joining(","));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(keyRing.publishedKeysMaxAge()).cachePublic())
+                    .eTag(Integer.toHexString(etag.hashCode()))
+                    .body(jwkMapper.toKeySet(keys));
+        });
+    }
+}
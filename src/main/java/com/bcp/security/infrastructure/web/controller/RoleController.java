@@ -0,0 +1,79 @@
+package com.bcp.security.infrastructure.web.controller;
+
+import com.bcp.security.domain.port.in.RoleUseCase;
+import com.bcp.security.infrastructure.web.dto.request.RoleAssignmentRequest;
+import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
+import com.bcp.security.infrastructure.web.dto.response.RoleAssignmentResponse;
+import com.bcp.security.infrastructure.web.dto.response.RoleResponse;
+import com.bcp.security.infrastructure.web.mapper.RoleDtoMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/roles")
+@RequiredArgsConstructor
+public class RoleController {
+
+    private final RoleUseCase roleUseCase;
+    private final RoleDtoMapper roleDtoMapper;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<List<RoleResponse>>> getAllRoles() {
+        return roleUseCase.findAll()
+                .map(roleDtoMapper::toResponse)
+                .collectList()
+                .map(ApiResponse::success);
+    }
+
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<List<RoleResponse>>> refreshCatalog() {
+        return roleUseCase.refreshCatalog()
+                .thenMany(roleUseCase.findAll())
+                .map(roleDtoMapper::toResponse)
+                .collectList()
+                .map(roles -> ApiResponse.success("Role catalog refreshed", roles));
+    }
+
+    @PostMapping("/{roleName}/grant")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<RoleAssignmentResponse>> grantRole(
+            @PathVariable String roleName,
+            @Valid @RequestBody RoleAssignmentRequest request) {
+        return roleUseCase.grantRole(roleName, request.getUsernames())
+                .map(changed -> toAssignmentResponse(roleName, request, changed))
+                .map(response -> ApiResponse.success("Role granted", response))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Role not found: " + roleName)));
+    }
+
+    @PostMapping("/{roleName}/revoke")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<RoleAssignmentResponse>> revokeRole(
+            @PathVariable String roleName,
+            @Valid @RequestBody RoleAssignmentRequest request) {
+        return roleUseCase.revokeRole(roleName, request.getUsernames())
+                .map(changed -> toAssignmentResponse(roleName, request, changed))
+                .map(response -> ApiResponse.success("Role revoked", response))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Role not found: " + roleName)));
+    }
+
+    private static RoleAssignmentResponse toAssignmentResponse(String roleName, RoleAssignmentRequest request, long changed) {
+        return RoleAssignmentResponse.builder()
+                .role(roleName)
+                .requested(request.getUsernames().size())
+                .changed(changed)
+                .build();
+    }
+}
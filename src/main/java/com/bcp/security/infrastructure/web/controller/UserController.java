@@ -1,16 +1,28 @@
 package com.bcp.security.infrastructure.web.controller;
 
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
 import com.bcp.security.domain.port.in.UserUseCase;
+import com.bcp.security.infrastructure.web.dto.request.UserBatchRequest;
 import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserBatchResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserPageResponse;
 import com.bcp.security.infrastructure.web.dto.response.UserResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserSearchResponse;
 import com.bcp.security.infrastructure.web.mapper.UserDtoMapper;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -27,6 +39,56 @@ public class UserController {
                 .map(userDtoMapper::toResponse);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<UserResponse> streamAllUsers() {
+        return userUseCase.findAll()
+                .map(userDtoMapper::toResponse);
+    }
+
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<UserPageResponse>> getUserPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return userUseCase.findPage(after, size)
+                .map(userDtoMapper::toPageResponse)
+                .map(ApiResponse::success);
+    }
+
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ApiResponse<UserSearchResponse>> searchUsers(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        UserSearchCriteria criteria = toCriteria(username, emailDomain, role, createdFrom, createdTo);
+        UserSearchCursor cursor = after != null ? toCursor(after, criteria) : null;
+        return userUseCase.search(criteria, cursor, size)
+                .map(userDtoMapper::toSearchResponse)
+                .map(ApiResponse::success);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<UserResponse> streamSearchUsers(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        return userUseCase.searchAll(toCriteria(username, emailDomain, role, createdFrom, createdTo))
+                .map(userDtoMapper::toResponse);
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public Mono<ApiResponse<UserResponse>> getUserById(@PathVariable Long id) {
@@ -35,10 +97,52 @@ public class UserController {
                 .map(ApiResponse::success);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')") // lo llaman otros servicios, no los usuarios finales
+    public Mono<ApiResponse<UserBatchResponse>> getUsersByIds(@Valid @RequestBody UserBatchRequest request) {
+        return userUseCase.findAllByIds(request.getIds())
+                .map(userDtoMapper::toBatchResponse)
+                .map(ApiResponse::success);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @PreAuthorize("hasRole('ADMIN')")
     public Mono<Void> deleteUser(@PathVariable Long id) {
         return userUseCase.deleteById(id);
     }
+
+    private static UserSearchCriteria toCriteria(String username, String emailDomain, String role,
+                                                 LocalDateTime createdFrom, LocalDateTime createdTo) {
+        UserSearchCriteria criteria = UserSearchCriteria.builder()
+                .usernamePrefix(blankToNull(username))
+                .emailDomain(emailDomain != null ? blankToNull(emailDomain.replaceFirst("^@", "")) : null)
+                .role(blankToNull(role))
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+        if (!criteria.hasSingleFilter()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Search by one of username, emailDomain, role or a createdFrom/createdTo range");
+        }
+        return criteria;
+    }
+
+    private static UserSearchCursor toCursor(String after, UserSearchCriteria criteria) {
+        UserSearchCursor cursor;
+        try {
+            cursor = UserSearchCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (cursor.getOrder() != criteria.order()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not belong to this search");
+        }
+        return cursor;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
 }
@@ -0,0 +1,21 @@
+package com.bcp.security.infrastructure.web.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleAssignmentRequest {
+
+    @NotEmpty(message = "At least one username is required")
+    @Size(max = 10000, message = "At most 10000 usernames per request")
+    private List<String> usernames;
+}
@@ -0,0 +1,23 @@
+package com.bcp.security.infrastructure.web.dto.request;
+
+import com.bcp.security.domain.model.UserBatch;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = UserBatch.MAX_IDS, message = "At most 1000 ids per request")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+}
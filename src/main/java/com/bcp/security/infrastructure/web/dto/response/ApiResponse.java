@@ -6,7 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Data
 @Builder
@@ -15,43 +17,47 @@ import java.time.LocalDateTime;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
 
+    public static final String STATUS_SUCCESS = "SUCCESS";
+    public static final String STATUS_ERROR = "ERROR";
+    public static final String DEFAULT_SUCCESS_MESSAGE = "Operation completed successfully";
+
+    private static volatile Timestamp currentTimestamp = new Timestamp(0, LocalDateTime.now());
+
     private String status;
     private String message;
     private T data;
     private LocalDateTime timestamp;
 
     public static <T> ApiResponse<T> success(T data) {
-        return ApiResponse.<T>builder()
-                .status("SUCCESS")
-                .message("Operation completed successfully")
-                .data(data)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(STATUS_SUCCESS, DEFAULT_SUCCESS_MESSAGE, data, now());
     }
 
     public static <T> ApiResponse<T> success(String message, T data) {
-        return ApiResponse.<T>builder()
-                .status("SUCCESS")
-                .message(message)
-                .data(data)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(STATUS_SUCCESS, message, data, now());
     }
 
     public static <T> ApiResponse<T> error(String message) {
-        return ApiResponse.<T>builder()
-                .status("ERROR")
-                .message(message)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(STATUS_ERROR, message, null, now());
     }
 
     public static <T> ApiResponse<T> validationError(String message, T data) {
-        return ApiResponse.<T>builder()
-                .status("ERROR")
-                .message(message)
-                .data(data)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(STATUS_ERROR, message, data, now());
+    }
+
+    /**
+     * Millisecond-precision timestamp shared by every envelope created within the same
+     * millisecond, so building an envelope does not read the zone rules each time.
+     */
+    static LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Timestamp current = currentTimestamp;
+        if (current.millis() != millis) {
+            current = new Timestamp(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()));
+            currentTimestamp = current;
+        }
+        return current.value();
+    }
+
+    private record Timestamp(long millis, LocalDateTime value) {
     }
 }
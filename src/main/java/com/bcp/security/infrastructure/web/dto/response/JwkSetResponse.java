@@ -0,0 +1,16 @@
+package com.bcp.security.infrastructure.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwkSetResponse {
+    private List<JwkResponse> keys;
+}
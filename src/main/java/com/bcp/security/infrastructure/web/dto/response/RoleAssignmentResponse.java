@@ -0,0 +1,16 @@
+package com.bcp.security.infrastructure.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleAssignmentResponse {
+    private String role;
+    private int requested;
+    private long changed;
+}
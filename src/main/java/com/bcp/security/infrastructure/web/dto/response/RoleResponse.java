@@ -0,0 +1,15 @@
+package com.bcp.security.infrastructure.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleResponse {
+    private Long id;
+    private String name;
+}
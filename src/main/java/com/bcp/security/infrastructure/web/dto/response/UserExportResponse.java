@@ -0,0 +1,20 @@
+package com.bcp.security.infrastructure.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportResponse {
+    private String file;
+    private String format;
+    private Long resumedAfterId;
+    private Long lastId;
+    private long exported;
+    private long bytes;
+    private long elapsedMillis;
+}
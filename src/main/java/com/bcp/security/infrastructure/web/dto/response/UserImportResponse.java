@@ -0,0 +1,21 @@
+package com.bcp.security.infrastructure.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+    private long received;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private double usersPerSecond;
+    private List<UserImportFailureResponse> failures;
+}
@@ -1,5 +1,8 @@
 package com.bcp.security.infrastructure.web.exception;
 
+import com.bcp.security.domain.exception.TooManyAttemptsException;
+import com.bcp.security.domain.exception.UserAlreadyExistsException;
+import com.bcp.security.infrastructure.security.PasswordHashingRejectedException;
 import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
@@ -8,9 +11,13 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,7 +30,9 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -49,6 +58,52 @@ public class GlobalExceptionHandler {
         return Mono.just(ApiResponse.error(ex.getReason()));
     }
 
+    @ExceptionHandler(AuthenticationException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public Mono<ApiResponse<Void>> handleAuthenticationException(AuthenticationException ex) {
+        return Mono.just(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public Mono<ApiResponse<Void>> handleAccessDenied(AccessDeniedException ex) {
+        return Mono.just(ApiResponse.error("Access denied"));
+    }
+
+    @ExceptionHandler(TooManyAttemptsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Mono<ApiResponse<Void>> handleTooManyAttempts(TooManyAttemptsException ex, ServerWebExchange exchange) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return Mono.just(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Mono<ApiResponse<Map<String, String>>> handleUserAlreadyExists(UserAlreadyExistsException ex) {
+        Map<String, String> conflicts = new LinkedHashMap<>();
+        if (ex.isUsernameTaken()) {
+            conflicts.put("username", "Username is already registered");
+        }
+        if (ex.isEmailTaken()) {
+            conflicts.put("email", "Email is already registered");
+        }
+        return Mono.just(ApiResponse.validationError(ex.getMessage(), conflicts));
+    }
+
+    @ExceptionHandler(DuplicateKeyException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Mono<ApiResponse<Void>> handleDuplicateKey(DuplicateKeyException ex) {
+        return Mono.just(ApiResponse.error("The resource already exists"));
+    }
+
+    @ExceptionHandler({PasswordHashingRejectedException.class, RejectedExecutionException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Mono<ApiResponse<Void>> handleRejectedExecution(Exception ex, ServerWebExchange exchange) {
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        return Mono.just(ApiResponse.error("Server is busy, please retry later"));
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Mono<ApiResponse<Void>> handleGenericException(Exception ex) {
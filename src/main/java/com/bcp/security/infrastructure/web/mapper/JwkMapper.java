@@ -0,0 +1,67 @@
+package com.bcp.security.infrastructure.web.mapper;
+
+import com.bcp.security.infrastructure.security.JwtKeyRing;
+import com.bcp.security.infrastructure.web.dto.response.JwkResponse;
+import com.bcp.security.infrastructure.web.dto.response.JwkSetResponse;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Renders public keys as RFC 7517 JSON Web Keys.
+ */
+@Component
+public class JwkMapper {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    public JwkSetResponse toKeySet(List<JwtKeyRing.RingKey> keys) {
+        return JwkSetResponse.builder()
+                .keys(keys.stream().map(this::toJwk).toList())
+                .build();
+    }
+
+    public JwkResponse toJwk(JwtKeyRing.RingKey key) {
+        JwkResponse.JwkResponseBuilder jwk = JwkResponse.builder()
+                .use("sig")
+                .alg(key.algorithm().getValue())
+                .kid(key.kid());
+
+        if (key.publicKey() instanceof RSAPublicKey rsa) {
+            return jwk.kty("RSA")
+                    .n(encode(rsa.getModulus(), 0))
+                    .e(encode(rsa.getPublicExponent(), 0))
+                    .build();
+        }
+        if (key.publicKey() instanceof ECPublicKey ec) {
+            int fieldSize = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            return jwk.kty("EC")
+                    .crv("P-" + ec.getParams().getCurve().getField().getFieldSize())
+                    .x(encode(ec.getW().getAffineX(), fieldSize))
+                    .y(encode(ec.getW().getAffineY(), fieldSize))
+                    .build();
+        }
+        throw new IllegalArgumentException("Unsupported key type " + key.publicKey().getAlgorithm());
+    }
+
+    /**
+     * Unsigned big-endian encoding, left-padded to {@code length} bytes when given.
+     */
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+}
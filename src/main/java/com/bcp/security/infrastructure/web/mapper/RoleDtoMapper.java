@@ -0,0 +1,16 @@
+package com.bcp.security.infrastructure.web.mapper;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.infrastructure.web.dto.response.RoleResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoleDtoMapper {
+
+    public RoleResponse toResponse(Role role) {
+        return RoleResponse.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .build();
+    }
+}
@@ -2,8 +2,19 @@ package com.bcp.security.infrastructure.web.mapper;
 
 import com.bcp.security.domain.model.Role;
 import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserBatch;
+import com.bcp.security.domain.model.UserExportResult;
+import com.bcp.security.domain.model.UserImportResult;
+import com.bcp.security.domain.model.UserPage;
+import com.bcp.security.domain.model.UserSearchPage;
 import com.bcp.security.infrastructure.web.dto.request.RegisterRequest;
+import com.bcp.security.infrastructure.web.dto.response.UserBatchResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserExportResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserImportFailureResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserImportResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserPageResponse;
 import com.bcp.security.infrastructure.web.dto.response.UserResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserSearchResponse;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
@@ -43,4 +54,60 @@ public class UserDtoMapper {
                 .createdAt(user.getCreatedAt())
                 .build();
     }
+
+    public UserPageResponse toPageResponse(UserPage page) {
+        return UserPageResponse.builder()
+                .users(page.getUsers().stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    public UserSearchResponse toSearchResponse(UserSearchPage page) {
+        return UserSearchResponse.builder()
+                .users(page.getUsers().stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(page.getNextCursor() != null ? page.getNextCursor().encode() : null)
+                .build();
+    }
+
+    public UserBatchResponse toBatchResponse(UserBatch batch) {
+        return UserBatchResponse.builder()
+                .users(batch.getUsers().stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList()))
+                .missingIds(batch.getMissingIds())
+                .build();
+    }
+
+    public UserImportResponse toImportResponse(UserImportResult result) {
+        return UserImportResponse.builder()
+                .received(result.getReceived())
+                .imported(result.getImported())
+                .failed(result.getFailed())
+                .elapsedMillis(result.getElapsedMillis())
+                .usersPerSecond(result.getUsersPerSecond())
+                .failures(result.getFailures().stream()
+                        .map(failure -> UserImportFailureResponse.builder()
+                                .line(failure.getLineNumber())
+                                .username(failure.getUsername())
+                                .reason(failure.getReason())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    public UserExportResponse toExportResponse(UserExportResult result) {
+        return UserExportResponse.builder()
+                .file(result.getFile())
+                .format(result.getFormat().name())
+                .resumedAfterId(result.getResumedAfterId())
+                .lastId(result.getLastId())
+                .exported(result.getExported())
+                .bytes(result.getBytes())
+                .elapsedMillis(result.getElapsedMillis())
+                .build();
+    }
 }
@@ -0,0 +1,116 @@
+package com.bcp.security.infrastructure.web.mapper;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserImportRecord;
+import com.bcp.security.infrastructure.web.dto.request.RegisterRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Turns one line of an NDJSON or CSV import body into a {@link UserImportRecord}. Lines that
+ * cannot be parsed or fail the {@link RegisterRequest} constraints become rejected records
+ * instead of aborting the import.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserImportParser {
+
+    public static final String CSV_HEADER = "username,password,email,roles";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserDtoMapper userDtoMapper;
+
+    public UserImportRecord fromJson(long lineNumber, String line) {
+        try {
+            return toRecord(lineNumber, objectMapper.readValue(line, RegisterRequest.class));
+        } catch (JsonProcessingException e) {
+            return UserImportRecord.rejected(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Parses {@code username,password,email,roles} where roles are separated by {@code |}.
+     * Fields may be double-quoted, with {@code ""} standing for a literal quote.
+     */
+    public UserImportRecord fromCsv(long lineNumber, String line) {
+        List<String> fields = splitCsv(line);
+        if (fields == null || fields.size() < 3 || fields.size() > 4) {
+            return UserImportRecord.rejected(lineNumber, null, "Expected columns: " + CSV_HEADER);
+        }
+
+        Set<String> roles = fields.size() == 4 && !fields.get(3).isBlank()
+                ? Arrays.stream(fields.get(3).split("\\|"))
+                        .map(String::trim)
+                        .filter(role -> !role.isEmpty())
+                        .collect(Collectors.toSet())
+                : null;
+
+        return toRecord(lineNumber, RegisterRequest.builder()
+                .username(fields.get(0))
+                .password(fields.get(1))
+                .email(fields.get(2))
+                .roles(roles)
+                .build());
+    }
+
+    public boolean isCsvHeader(String line) {
+        return line.replace(" ", "").toLowerCase().startsWith("username,");
+    }
+
+    private UserImportRecord toRecord(long lineNumber, RegisterRequest request) {
+        User user = userDtoMapper.toDomain(request);
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String error = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return UserImportRecord.rejected(lineNumber, user, error);
+        }
+        return UserImportRecord.of(lineNumber, user);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
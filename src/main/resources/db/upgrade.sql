@@ -0,0 +1,109 @@
+-- Brings a database created from an older schema.sql up to the current one (make migrate-db).
+-- schema.sql only creates what is missing, so tables that already exist never pick up new
+-- columns or indexes from it. Every step here checks the information schema first, so the
+-- script can be run again against a database of any age. MySQL 8 only.
+
+DROP PROCEDURE IF EXISTS upgrade_schema;
+
+DELIMITER //
+
+CREATE PROCEDURE upgrade_schema()
+BEGIN
+    -- Search by email domain: the column is filled for existing rows the way UserMapper fills it
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'email_domain') THEN
+        ALTER TABLE users ADD COLUMN email_domain VARCHAR(100) NULL AFTER email;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'email_domain'
+                 AND is_nullable = 'YES') THEN
+        UPDATE users SET email_domain = LOWER(SUBSTRING_INDEX(email, '@', -1)) WHERE email_domain IS NULL;
+        ALTER TABLE users MODIFY email_domain VARCHAR(100) NOT NULL;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'idx_users_email_domain') THEN
+        ALTER TABLE users ADD INDEX idx_users_email_domain (email_domain, id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'idx_users_created_at') THEN
+        ALTER TABLE users ADD INDEX idx_users_created_at (created_at, id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = 'user_roles' AND index_name = 'idx_user_roles_role') THEN
+        ALTER TABLE user_roles ADD INDEX idx_user_roles_role (role_id, user_id);
+    END IF;
+
+    -- Signing key ring; the unique generation lets only one node create each key
+    CREATE TABLE IF NOT EXISTS signing_keys (
+        kid VARCHAR(64) PRIMARY KEY,
+        generation BIGINT NOT NULL,
+        algorithm VARCHAR(10) NOT NULL,
+        public_key VARCHAR(1024) NOT NULL,
+        private_key VARCHAR(4096) NOT NULL,
+        not_before BIGINT NOT NULL,
+        UNIQUE INDEX uk_signing_keys_generation (generation)
+    );
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = DATABASE() AND table_name = 'signing_keys' AND column_name = 'generation') THEN
+        ALTER TABLE signing_keys ADD COLUMN generation BIGINT NULL AFTER kid;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'signing_keys' AND column_name = 'generation'
+                 AND is_nullable = 'YES') THEN
+        -- Existing keys are numbered in the order they took over
+        UPDATE signing_keys k
+            JOIN (SELECT kid, ROW_NUMBER() OVER (ORDER BY not_before, kid) - 1 AS generation FROM signing_keys) n
+              ON n.kid = k.kid
+        SET k.generation = n.generation;
+        ALTER TABLE signing_keys MODIFY generation BIGINT NOT NULL,
+            ADD UNIQUE INDEX uk_signing_keys_generation (generation);
+    END IF;
+
+    -- Rotating refresh tokens
+    CREATE TABLE IF NOT EXISTS refresh_tokens (
+        token_hash CHAR(64) PRIMARY KEY,
+        family_id CHAR(36) NOT NULL,
+        username VARCHAR(50) NOT NULL,
+        expires_at BIGINT NOT NULL,
+        family_expires_at BIGINT NOT NULL,
+        used BOOLEAN NOT NULL DEFAULT FALSE,
+        INDEX idx_refresh_tokens_family (family_id),
+        INDEX idx_refresh_tokens_expires (expires_at),
+        FOREIGN KEY (username) REFERENCES users(username) ON DELETE CASCADE
+    );
+    -- The first version stored the roles with each token and had no family deadline
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens'
+                     AND column_name = 'family_expires_at') THEN
+        ALTER TABLE refresh_tokens ADD COLUMN family_expires_at BIGINT NULL AFTER expires_at;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens'
+                 AND column_name = 'family_expires_at' AND is_nullable = 'YES') THEN
+        -- A family already issued ends when its newest token does: never later than before
+        UPDATE refresh_tokens t
+            JOIN (SELECT family_id, MAX(expires_at) AS family_expires_at FROM refresh_tokens GROUP BY family_id) f
+              ON f.family_id = t.family_id
+        SET t.family_expires_at = f.family_expires_at;
+        ALTER TABLE refresh_tokens MODIFY family_expires_at BIGINT NOT NULL;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens' AND column_name = 'authorities') THEN
+        ALTER TABLE refresh_tokens DROP COLUMN authorities;
+    END IF;
+
+    -- Revoked sessions and users; the shape has not changed since it was introduced
+    CREATE TABLE IF NOT EXISTS token_revocations (
+        kind VARCHAR(8) NOT NULL,
+        subject VARCHAR(64) NOT NULL,
+        revoked_at BIGINT NOT NULL,
+        expires_at BIGINT NOT NULL,
+        PRIMARY KEY (kind, subject),
+        INDEX idx_token_revocations_expires (expires_at)
+    );
+END //
+
+DELIMITER ;
+
+CALL upgrade_schema();
+DROP PROCEDURE upgrade_schema;
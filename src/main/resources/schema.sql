@@ -1,10 +1,16 @@
+-- Creates the tables that do not exist yet. Existing tables are never altered from here: every
+-- change to one needs a matching step in db/upgrade.sql.
+
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     username VARCHAR(50) NOT NULL UNIQUE,
     password VARCHAR(100) NOT NULL,
     email VARCHAR(100) NOT NULL UNIQUE,
+    email_domain VARCHAR(100) NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_users_email_domain (email_domain, id),
+    INDEX idx_users_created_at (created_at, id)
 );
 
 CREATE TABLE IF NOT EXISTS roles (
@@ -16,10 +22,43 @@ CREATE TABLE IF NOT EXISTS user_roles (
     user_id BIGINT NOT NULL,
     role_id BIGINT NOT NULL,
     PRIMARY KEY (user_id, role_id),
+    INDEX idx_user_roles_role (role_id, user_id),
     FOREIGN KEY (user_id) REFERENCES users(id),
     FOREIGN KEY (role_id) REFERENCES roles(id)
 );
 
+CREATE TABLE IF NOT EXISTS signing_keys (
+    kid VARCHAR(64) PRIMARY KEY,
+    generation BIGINT NOT NULL,
+    algorithm VARCHAR(10) NOT NULL,
+    public_key VARCHAR(1024) NOT NULL,
+    private_key VARCHAR(4096) NOT NULL,
+    not_before BIGINT NOT NULL,
+    UNIQUE INDEX uk_signing_keys_generation (generation)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    token_hash CHAR(64) PRIMARY KEY,
+    family_id CHAR(36) NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    expires_at BIGINT NOT NULL,
+    family_expires_at BIGINT NOT NULL,
+    used BOOLEAN NOT NULL DEFAULT FALSE,
+    INDEX idx_refresh_tokens_family (family_id),
+    INDEX idx_refresh_tokens_expires (expires_at),
+    FOREIGN KEY (username) REFERENCES users(username) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS token_revocations (
+    kind VARCHAR(8) NOT NULL,
+    subject VARCHAR(64) NOT NULL,
+    revoked_at BIGINT NOT NULL,
+    expires_at BIGINT NOT NULL,
+    PRIMARY KEY (kind, subject),
+    INDEX idx_token_revocations_expires (expires_at)
+);
+
 -- Insert default roles
 INSERT INTO roles (name) VALUES ('ROLE_USER') ON DUPLICATE KEY UPDATE name = name;
 INSERT INTO roles (name) VALUES ('ROLE_ADMIN') ON DUPLICATE KEY UPDATE name = name;
+INSERT INTO roles (name) VALUES ('ROLE_SERVICE') ON DUPLICATE KEY UPDATE name = name;
@@ -0,0 +1,212 @@
+package com.bcp.security.application.service;
+
+import com.bcp.security.domain.exception.UserAlreadyExistsException;
+import com.bcp.security.domain.model.RefreshToken;
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.port.out.PasswordHasher;
+import com.bcp.security.domain.port.out.RefreshTokenIssuer;
+import com.bcp.security.domain.port.out.RefreshTokenRepository;
+import com.bcp.security.domain.port.out.RoleRepository;
+import com.bcp.security.domain.port.out.UserRepository;
+import com.bcp.security.infrastructure.security.JwtTokenProvider;
+import com.bcp.security.infrastructure.security.OpaqueRefreshTokenIssuer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private static final long REFRESH_VALIDITY_MILLIS = Duration.ofDays(7).toMillis();
+
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final PasswordHasher passwordHasher = mock(PasswordHasher.class);
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenIssuer refreshTokenIssuer = new OpaqueRefreshTokenIssuer(REFRESH_VALIDITY_MILLIS);
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(null, tokenProvider, userRepository, roleRepository, passwordHasher,
+                refreshTokenRepository, refreshTokenIssuer, null);
+        when(tokenProvider.generateToken(any(), any())).thenReturn("access-token");
+        when(refreshTokenRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(refreshTokenRepository.deleteFamily(anyString())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void reusedRefreshTokenDeletesTheWholeFamily() {
+        RefreshTokenIssuer.Issued issued = refreshTokenIssuer.issue("family-1", "alice");
+        stored(issued.refreshToken(), false);
+
+        StepVerifier.create(authService.refresh(issued.value()))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(BadCredentialsException.class)
+                        .hasMessageContaining("reuse"))
+                .verify();
+        verify(refreshTokenRepository).deleteFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void unknownRefreshTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(authService.refresh("not-issued"))
+                .expectError(BadCredentialsException.class)
+                .verify();
+    }
+
+    @Test
+    void expiredRefreshTokenIsRejectedWithoutBeingConsumed() {
+        RefreshTokenIssuer.Issued issued = refreshTokenIssuer.issue("family-1", "alice");
+        issued.refreshToken().setExpiresAt(Instant.now().minusSeconds(1));
+        stored(issued.refreshToken(), true);
+
+        StepVerifier.create(authService.refresh(issued.value()))
+                .expectError(CredentialsExpiredException.class)
+                .verify();
+        verify(refreshTokenRepository, never()).markUsed(anyString());
+    }
+
+    @Test
+    void rotationKeepsTheFamilyDeadlineAndUsesCurrentRoles() {
+        RefreshTokenIssuer.Issued issued = refreshTokenIssuer.issue("family-1", "alice");
+        // La familia empezó hace casi siete días: la rotación no puede pasar de su límite
+        Instant familyExpiresAt = Instant.now().plus(Duration.ofHours(1));
+        issued.refreshToken().setFamilyExpiresAt(familyExpiresAt);
+        stored(issued.refreshToken(), true);
+        when(userRepository.findByUsername("alice")).thenReturn(Mono.just(User.builder()
+                .username("alice")
+                .roles(Set.of(Role.builder().name("ROLE_ADMIN").build()))
+                .build()));
+
+        StepVerifier.create(authService.refresh(issued.value()))
+                .assertNext(tokens -> {
+                    assertThat(tokens.getAccessToken()).isEqualTo("access-token");
+                    assertThat(tokens.getRefreshToken()).isNotEqualTo(issued.value());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo("family-1");
+        assertThat(saved.getValue().getFamilyExpiresAt()).isEqualTo(familyExpiresAt);
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(familyExpiresAt);
+
+        ArgumentCaptor<Authentication> authentication = ArgumentCaptor.forClass(Authentication.class);
+        verify(tokenProvider).generateToken(authentication.capture(), eq("family-1"));
+        assertThat(authentication.getValue().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void refreshForADeletedUserIsRejected() {
+        RefreshTokenIssuer.Issued issued = refreshTokenIssuer.issue("family-1", "alice");
+        stored(issued.refreshToken(), true);
+        when(userRepository.findByUsername("alice")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authService.refresh(issued.value()))
+                .expectError(BadCredentialsException.class)
+                .verify();
+    }
+
+    @Test
+    void registrationOfATakenUsernameIsRejectedBeforeHashing() {
+        when(userRepository.checkAvailability("alice", "alice@example.com"))
+                .thenReturn(Mono.just(availability(false, true)));
+
+        StepVerifier.create(authService.register(newUser()))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOfSatisfying(UserAlreadyExistsException.class, conflict -> {
+                            assertThat(conflict.isUsernameTaken()).isTrue();
+                            assertThat(conflict.isEmailTaken()).isFalse();
+                        }))
+                .verify();
+        verify(passwordHasher, never()).encode(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void registrationLosingTheInsertRaceIsAConflict() {
+        // Libre al comprobarlo, ocupado por otra petición antes del INSERT
+        when(userRepository.checkAvailability("alice", "alice@example.com"))
+                .thenReturn(Mono.just(availability(true, true)), Mono.just(availability(true, false)));
+        registrationReachesTheInsert();
+        when(userRepository.save(any())).thenReturn(Mono.error(new DuplicateKeyException("uk_users_email")));
+
+        StepVerifier.create(authService.register(newUser()))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOfSatisfying(UserAlreadyExistsException.class, conflict -> {
+                            assertThat(conflict.isUsernameTaken()).isFalse();
+                            assertThat(conflict.isEmailTaken()).isTrue();
+                        }))
+                .verify();
+        verify(userRepository, times(2)).checkAvailability("alice", "alice@example.com");
+    }
+
+    @Test
+    void duplicateKeyThatIsNotAboutTheUserIsPassedOn() {
+        when(userRepository.checkAvailability("alice", "alice@example.com"))
+                .thenReturn(Mono.just(availability(true, true)));
+        registrationReachesTheInsert();
+        DuplicateKeyException duplicate = new DuplicateKeyException("user_roles.PRIMARY");
+        when(userRepository.save(any())).thenReturn(Mono.error(duplicate));
+
+        StepVerifier.create(authService.register(newUser()))
+                .expectErrorSatisfies(e -> assertThat(e).isSameAs(duplicate))
+                .verify();
+    }
+
+    private void registrationReachesTheInsert() {
+        when(passwordHasher.encode("secret")).thenReturn(Mono.just("hashed"));
+        when(roleRepository.findByName("ROLE_USER"))
+                .thenReturn(Mono.just(Role.builder().id(1L).name("ROLE_USER").build()));
+    }
+
+    private static User newUser() {
+        return User.builder()
+                .username("alice")
+                .email("alice@example.com")
+                .password("secret")
+                .build();
+    }
+
+    private static UserAvailability availability(boolean username, boolean email) {
+        return UserAvailability.builder()
+                .usernameAvailable(username)
+                .emailAvailable(email)
+                .build();
+    }
+
+    private void stored(RefreshToken refreshToken, boolean firstUse) {
+        when(refreshTokenRepository.findByTokenHash(refreshToken.getTokenHash())).thenReturn(Mono.just(refreshToken));
+        when(refreshTokenRepository.markUsed(refreshToken.getTokenHash())).thenReturn(Mono.just(firstUse));
+    }
+}
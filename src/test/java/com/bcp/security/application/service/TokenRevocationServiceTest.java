@@ -0,0 +1,104 @@
+package com.bcp.security.application.service;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import com.bcp.security.domain.port.out.RefreshTokenRepository;
+import com.bcp.security.domain.port.out.RevocationBus;
+import com.bcp.security.domain.port.out.TokenRevocationRepository;
+import com.bcp.security.infrastructure.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    private static final long ACCESS_VALIDITY_MILLIS = Duration.ofMinutes(15).toMillis();
+    private static final long LEGACY_VALIDITY_MILLIS = Duration.ofHours(24).toMillis();
+
+    private final TokenRevocationRepository tokenRevocationRepository = mock(TokenRevocationRepository.class);
+    private final RevocationBus revocationBus = mock(RevocationBus.class);
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+
+    TokenRevocationServiceTest() {
+        when(tokenRevocationRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(revocationBus.publish(any())).thenReturn(Mono.empty());
+        when(refreshTokenRepository.deleteFamily(anyString())).thenReturn(Mono.empty());
+        when(refreshTokenRepository.deleteByUsername(anyString())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void logoutRevokesTheAccessTokenAndDeletesItsRefreshFamily() {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(10));
+
+        StepVerifier.create(service(true).logout("alice", "jti-1", expiresAt, "family-1"))
+                .verifyComplete();
+
+        TokenRevocation revocation = savedRevocation();
+        assertThat(revocation.getType()).isEqualTo(TokenRevocation.Type.TOKEN);
+        assertThat(revocation.getSubject()).isEqualTo("jti-1");
+        assertThat(revocation.getExpiresAt()).isEqualTo(expiresAt);
+        verify(refreshTokenRepository).deleteFamily("family-1");
+        verify(refreshTokenRepository, never()).deleteByUsername(anyString());
+    }
+
+    @Test
+    void logoutWithoutSessionDeletesEveryRefreshTokenOfTheUser() {
+        StepVerifier.create(service(true).logout("alice", "jti-1", Instant.now().plusSeconds(60), null))
+                .verifyComplete();
+
+        verify(refreshTokenRepository).deleteByUsername("alice");
+    }
+
+    @Test
+    void legacyLogoutRevokesTheUserForTheLegacyLifetime() {
+        Instant before = Instant.now();
+
+        StepVerifier.create(service(true).logout("alice", null, null, null))
+                .verifyComplete();
+
+        TokenRevocation revocation = savedRevocation();
+        assertThat(revocation.getType()).isEqualTo(TokenRevocation.Type.USER);
+        assertThat(revocation.getExpiresAt()).isAfterOrEqualTo(before.plusMillis(LEGACY_VALIDITY_MILLIS));
+        verify(refreshTokenRepository).deleteByUsername("alice");
+    }
+
+    @Test
+    void userRevocationOnlyOutlivesCurrentTokensOnceLegacyTokensAreRejected() {
+        Instant before = Instant.now();
+
+        StepVerifier.create(service(false).revokeUser("alice"))
+                .verifyComplete();
+
+        TokenRevocation revocation = savedRevocation();
+        assertThat(revocation.getExpiresAt())
+                .isAfterOrEqualTo(before.plusMillis(ACCESS_VALIDITY_MILLIS))
+                .isBefore(before.plusMillis(LEGACY_VALIDITY_MILLIS));
+    }
+
+    private TokenRevocationService service(boolean acceptLegacyTokens) {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(null, SECRET, acceptLegacyTokens,
+                ACCESS_VALIDITY_MILLIS, LEGACY_VALIDITY_MILLIS, null, null, new SimpleMeterRegistry());
+        return new TokenRevocationService(tokenRevocationRepository, revocationBus, refreshTokenRepository,
+                tokenProvider);
+    }
+
+    private TokenRevocation savedRevocation() {
+        ArgumentCaptor<TokenRevocation> saved = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(tokenRevocationRepository).save(saved.capture());
+        verify(revocationBus).publish(saved.getValue());
+        return saved.getValue();
+    }
+}
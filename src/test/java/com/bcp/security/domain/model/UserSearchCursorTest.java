@@ -0,0 +1,78 @@
+package com.bcp.security.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class UserSearchCursorTest {
+
+    private static final User USER = User.builder()
+            .id(42L)
+            .username("ana:lópez_%")
+            .createdAt(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000))
+            .build();
+
+    @Test
+    void idCursorKeepsOnlyTheId() {
+        UserSearchCursor cursor = roundTrip(UserSearchCursor.after(USER, UserSearchOrder.ID));
+
+        assertThat(cursor).isEqualTo(new UserSearchCursor(UserSearchOrder.ID, 42L, null, null));
+    }
+
+    @Test
+    void usernameCursorSurvivesSeparatorsAndNonAsciiCharacters() {
+        UserSearchCursor cursor = roundTrip(UserSearchCursor.after(USER, UserSearchOrder.USERNAME));
+
+        assertThat(cursor).isEqualTo(new UserSearchCursor(UserSearchOrder.USERNAME, 42L, "ana:lópez_%", null));
+    }
+
+    @Test
+    void createdAtCursorKeepsSubSecondPrecision() {
+        UserSearchCursor cursor = roundTrip(UserSearchCursor.after(USER, UserSearchOrder.CREATED_AT));
+
+        assertThat(cursor).isEqualTo(new UserSearchCursor(UserSearchOrder.CREATED_AT, 42L, null, USER.getCreatedAt()));
+    }
+
+    @Test
+    void createdAtCursorOnAWholeMinuteRoundTrips() {
+        // LocalDateTime#toString omite los segundos cuando son cero
+        User user = User.builder().id(42L).createdAt(LocalDateTime.of(2024, 3, 1, 10, 15)).build();
+
+        assertThat(roundTrip(UserSearchCursor.after(user, UserSearchOrder.CREATED_AT)).getCreatedAt())
+                .isEqualTo(user.getCreatedAt());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        assertThat(UserSearchCursor.after(USER, UserSearchOrder.USERNAME).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void garbageIsRejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> UserSearchCursor.decode("not base64!"))
+                .withMessage("Invalid search cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ID", "IDENTITY:42", "ID:forty-two", "USERNAME:42", "CREATED_AT:42",
+            "CREATED_AT:42:yesterday"})
+    void malformedCursorIsRejected(String raw) {
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> UserSearchCursor.decode(encoded))
+                .withMessage("Invalid search cursor");
+    }
+
+    private static UserSearchCursor roundTrip(UserSearchCursor cursor) {
+        return UserSearchCursor.decode(cursor.encode());
+    }
+}
@@ -0,0 +1,71 @@
+package com.bcp.security.infrastructure.adapter.export;
+
+import com.bcp.security.domain.model.User;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvUserExportEncoderTest {
+
+    private final CsvUserExportEncoder encoder = new CsvUserExportEncoder();
+    private final TrackingBufferFactory bufferFactory = new TrackingBufferFactory();
+
+    @Test
+    void writesTheHeaderOnlyInTheFirstChunk() throws IOException {
+        User user = User.builder().id(1L).username("alice").email("alice@example.com").build();
+
+        assertThat(decode(encoder.encode(List.of(user), true, bufferFactory)))
+                .startsWith(CsvUserExportEncoder.HEADER + "\n1,alice,alice@example.com,");
+        assertThat(decode(encoder.encode(List.of(user), false, bufferFactory)))
+                .startsWith("1,alice,alice@example.com,");
+    }
+
+    @Test
+    void releasesTheBufferWhenARowCannotBeWritten() {
+        // Sin id la fila falla con una excepción no comprobada a mitad del chunk
+        User broken = User.builder().username("bob").email("bob@example.com").build();
+
+        assertThatThrownBy(() -> encoder.encode(List.of(broken), true, bufferFactory))
+                .isInstanceOf(NullPointerException.class);
+        assertThat(bufferFactory.allocated).singleElement()
+                .satisfies(buffer -> assertThat(buffer.getNativeBuffer().refCnt()).isZero());
+    }
+
+    private static String decode(DataBuffer buffer) throws IOException {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class TrackingBufferFactory extends NettyDataBufferFactory {
+
+        private final List<NettyDataBuffer> allocated = new ArrayList<>();
+
+        TrackingBufferFactory() {
+            super(UnpooledByteBufAllocator.DEFAULT);
+        }
+
+        @Override
+        public NettyDataBuffer allocateBuffer(int initialCapacity) {
+            NettyDataBuffer buffer = super.allocateBuffer(initialCapacity);
+            allocated.add(buffer);
+            return buffer;
+        }
+    }
+}
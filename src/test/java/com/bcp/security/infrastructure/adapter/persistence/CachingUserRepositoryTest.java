@@ -0,0 +1,144 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserAvailability;
+import com.bcp.security.domain.port.out.UserRepository;
+import com.bcp.security.infrastructure.adapter.persistence.routing.ReadRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingUserRepositoryTest {
+
+    private static final long NEGATIVE_TTL = 100;
+
+    private final UserRepository delegate = mock(UserRepository.class);
+    private final AtomicInteger usernameLoads = new AtomicInteger();
+    private final CachingUserRepository repository = new CachingUserRepository(delegate,
+            new ReadRouting("", 1_000, 100), new SimpleMeterRegistry(), 100, 60_000, NEGATIVE_TTL, 60_000, 60_000);
+
+    @BeforeEach
+    void setUp() {
+        when(delegate.findByUsername(anyString())).thenAnswer(invocation -> Mono.defer(() -> {
+            usernameLoads.incrementAndGet();
+            return "ana".equals(invocation.getArgument(0)) ? Mono.just(ana()) : Mono.<User>empty();
+        }).delaySubscription(Duration.ofMillis(50)));
+        // Como el adaptador: lo que no se consulta queda a null
+        when(delegate.checkAvailability(any(), any())).thenAnswer(invocation -> Mono.just(UserAvailability.builder()
+                .usernameAvailable(invocation.getArgument(0) != null ? false : null)
+                .emailAvailable(invocation.getArgument(1) != null ? false : null)
+                .build()));
+        when(delegate.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(delegate.deleteById(anyLong())).thenReturn(Mono.empty());
+        when(delegate.grantRole(anyLong(), anyList())).thenReturn(Mono.just(1L));
+        when(delegate.revokeRole(anyLong(), anyList())).thenReturn(Mono.just(1L));
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() {
+        List<User> users = Flux.range(0, 20)
+                .flatMap(i -> repository.findByUsername(i % 2 == 0 ? "ana" : "ANA"))
+                .collectList()
+                .block();
+
+        assertThat(users).hasSize(20).allMatch(user -> user.getId().equals(7L));
+        assertThat(usernameLoads).hasValue(1);
+    }
+
+    @Test
+    void unknownUsernameIsRememberedOnlyForTheNegativeTtl() {
+        assertThat(repository.findByUsername("ghost").block()).isNull();
+        assertThat(repository.findByUsername("ghost").block()).isNull();
+        assertThat(usernameLoads).hasValue(1);
+
+        await().atMost(Duration.ofSeconds(2)).pollDelay(Duration.ofMillis(NEGATIVE_TTL)).untilAsserted(() -> {
+            repository.findByUsername("ghost").block();
+            assertThat(usernameLoads.get()).isGreaterThan(1);
+        });
+    }
+
+    @Test
+    void knownUserOutlivesTheNegativeTtl() {
+        repository.findByUsername("ana").block();
+
+        await().pollDelay(Duration.ofMillis(NEGATIVE_TTL * 2)).until(() -> true);
+
+        assertThat(repository.findByUsername("ana").block()).isNotNull();
+        assertThat(usernameLoads).hasValue(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"save", "deleteById", "grantRole", "revokeRole"})
+    void writesInvalidateTheUserAndItsAvailability(String write) {
+        primeCaches();
+
+        switch (write) {
+            case "save" -> repository.save(ana()).block();
+            case "deleteById" -> repository.deleteById(7L).block();
+            case "grantRole" -> repository.grantRole(2L, List.of("Ana")).block();
+            case "revokeRole" -> repository.revokeRole(2L, List.of("Ana")).block();
+            default -> throw new IllegalArgumentException(write);
+        }
+        primeCaches();
+
+        assertThat(usernameLoads).hasValue(2);
+        verify(delegate, times(2)).checkAvailability("ana", null);
+    }
+
+    @Test
+    void cachedUserIsNotSharedWithCallers() {
+        User first = repository.findByUsername("ana").block();
+        first.setUsername("changed");
+        first.getRoles().clear();
+
+        User second = repository.findByUsername("ana").block();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getUsername()).isEqualTo("ana");
+        assertThat(second.getRoles()).extracting(Role::getName).containsExactly("ROLE_USER");
+        assertThat(usernameLoads).hasValue(1);
+    }
+
+    /**
+     * Reads the user and its username availability twice each, so both are served from cache
+     * on the second read when nothing invalidated them.
+     */
+    private void primeCaches() {
+        for (int i = 0; i < 2; i++) {
+            repository.findByUsername("ana").block();
+            repository.checkAvailability("ana", null).block();
+        }
+    }
+
+    private static User ana() {
+        return User.builder()
+                .id(7L)
+                .username("ana")
+                .email("ana@example.com")
+                .password("x")
+                .roles(new HashSet<>(Set.of(Role.builder().id(1L).name("ROLE_USER").build())))
+                .build();
+    }
+}
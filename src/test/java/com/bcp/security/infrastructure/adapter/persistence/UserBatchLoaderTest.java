@@ -0,0 +1,116 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleRow;
+import com.bcp.security.infrastructure.adapter.persistence.mapper.UserMapper;
+import com.bcp.security.infrastructure.adapter.persistence.repository.R2dbcUserQueryRepository;
+import com.bcp.security.infrastructure.adapter.persistence.routing.ReadRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserBatchLoaderTest {
+
+    private static final Set<Long> STORED = Set.of(1L, 2L, 3L, 4L, 5L);
+
+    private final R2dbcUserQueryRepository userQueryRepository = mock(R2dbcUserQueryRepository.class);
+    private final ReadRouting readRouting = new ReadRouting("", 1_000, 100);
+
+    @BeforeEach
+    void setUp() {
+        // Como la consulta real: solo los ids que existen, ordenados por id
+        when(userQueryRepository.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return Flux.fromStream(ids.stream().filter(STORED::contains).sorted().map(UserBatchLoaderTest::row))
+                    .delaySubscription(Duration.ofMillis(20));
+        });
+    }
+
+    @Test
+    void overlappingLoadsWithinTheWindowShareOneQuery() {
+        UserBatchLoader loader = loader(50, 100);
+
+        StepVerifier.create(Flux.merge(loader.load(List.of(1L, 2L, 3L)).collectList(),
+                        loader.load(List.of(3L, 4L)).collectList()))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertThat(queriedIds()).containsExactly(Set.of(1L, 2L, 3L, 4L));
+    }
+
+    @Test
+    void usersComeInRequestOrderAndMissingIdsAreSkipped() {
+        UserBatchLoader loader = loader(5, 100);
+
+        StepVerifier.create(loader.load(List.of(5L, 1L, 99L, 3L)).map(User::getId))
+                .expectNext(5L, 1L, 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void fullBatchIsReadRightAwayAndNotFlushedAgain() {
+        // La ventana es mucho más larga que lo que se espera la respuesta
+        UserBatchLoader loader = loader(500, 3);
+
+        StepVerifier.create(Flux.merge(loader.load(List.of(1L, 2L)), loader.load(List.of(3L))).map(User::getId))
+                .expectNextCount(3)
+                .expectComplete()
+                .verify(Duration.ofMillis(400));
+
+        StepVerifier.create(loader.load(List.of(4L)).map(User::getId))
+                .expectNext(4L)
+                .verifyComplete();
+
+        // El temporizador del primer lote no vuelve a despachar nada: un lote lleno y el siguiente
+        assertThat(queriedIds()).containsExactly(Set.of(1L, 2L, 3L), Set.of(4L));
+    }
+
+    @Test
+    void cancelledCallerDoesNotFailTheOthers() {
+        UserBatchLoader loader = loader(50, 100);
+        Disposable cancelled = loader.load(List.of(1L)).subscribe();
+
+        StepVerifier.create(loader.load(List.of(2L)).map(User::getId))
+                .then(cancelled::dispose)
+                .expectNext(2L)
+                .verifyComplete();
+
+        assertThat(queriedIds()).containsExactly(Set.of(1L, 2L));
+    }
+
+    private List<Set<Long>> queriedIds() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(userQueryRepository, atLeastOnce()).findAllByIds(ids.capture());
+        return ids.getAllValues().stream().map(Set::copyOf).toList();
+    }
+
+    private UserBatchLoader loader(long windowInMilliseconds, int maxBatchSize) {
+        return new UserBatchLoader(userQueryRepository, new UserMapper(), readRouting, new SimpleMeterRegistry(),
+                windowInMilliseconds, maxBatchSize);
+    }
+
+    private static UserRoleRow row(Long id) {
+        return UserRoleRow.builder()
+                .userId(id)
+                .username("user-" + id)
+                .email("user-" + id + "@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.port.out.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+class UserRepositoryAdapterContractIntegrationTest extends UserRepositoryContract {
+
+    @Autowired
+    private UserRepositoryAdapter adapter;
+
+    @Override
+    protected UserRepository adapter() {
+        return adapter;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bcp.security.infrastructure.adapter.persistence;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.domain.port.out.RoleRepository;
+import com.bcp.security.domain.port.out.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What every {@link UserRepository} adapter has to do the same way, run against the embedded
+ * database by one subclass per engine. The adapter is used directly, without the cache in
+ * front of it.
+ */
+public abstract class UserRepositoryContract {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private String tag;
+    private Role userRole;
+    private Role adminRole;
+
+    /**
+     * The adapter under test.
+     */
+    protected abstract UserRepository adapter();
+
+    @BeforeEach
+    void setUp() {
+        tag = "ct" + UUID.randomUUID().toString().substring(0, 8);
+        userRole = roleRepository.findByName("ROLE_USER").block();
+        adminRole = roleRepository.findByName("ROLE_ADMIN").block();
+    }
+
+    @Test
+    void savedUserIsFoundByIdAndUsernameWithItsRoles() {
+        User saved = adapter().save(user("ana", userRole)).block();
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(adapter().findById(saved.getId()).block())
+                .satisfies(found -> {
+                    assertThat(found.getUsername()).isEqualTo(tag + "-ana");
+                    assertThat(found.getEmail()).isEqualTo(tag + "-ana@" + tag + ".test");
+                    assertThat(found.getRoles()).extracting(Role::getName).containsExactly("ROLE_USER");
+                });
+        assertThat(adapter().findByUsername(tag + "-ana").block())
+                .extracting(User::getId)
+                .isEqualTo(saved.getId());
+        assertThat(adapter().findById(-1L).block()).isNull();
+    }
+
+    @Test
+    void savingAnExistingUserReplacesItsRoles() {
+        User saved = adapter().save(user("ana", userRole)).block();
+
+        saved.setRoles(Set.of(adminRole));
+        adapter().save(saved).block();
+
+        assertThat(adapter().findById(saved.getId()).block().getRoles())
+                .extracting(Role::getName)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void searchPagesThroughEveryMatch() {
+        for (String name : List.of("c", "a", "d", "b", "e")) {
+            adapter().save(user(name, userRole)).block();
+        }
+        UserSearchCriteria criteria = UserSearchCriteria.builder().emailDomain(tag + ".test").build();
+
+        List<String> usernames = new ArrayList<>();
+        UserSearchCursor after = null;
+        do {
+            List<User> page = adapter().search(criteria, after, 2).collectList().block();
+            page.forEach(user -> usernames.add(user.getUsername()));
+            after = page.size() == 2 ? UserSearchCursor.after(page.get(1), criteria.order()) : null;
+        } while (after != null);
+
+        // Por dominio se ordena por id, que aquí es el orden de alta
+        assertThat(usernames).containsExactly(tag + "-c", tag + "-a", tag + "-d", tag + "-b", tag + "-e");
+    }
+
+    @Test
+    void grantAndRevokeCountOnlyTheRowsTheyChange() {
+        User ana = adapter().save(user("ana", userRole)).block();
+        User bob = adapter().save(user("bob", userRole, adminRole)).block();
+        List<String> usernames = List.of(ana.getUsername(), bob.getUsername(), tag + "-missing");
+
+        assertThat(adapter().grantRole(adminRole.getId(), usernames).block()).isEqualTo(1L);
+        assertThat(adapter().findById(ana.getId()).block().getRoles())
+                .extracting(Role::getName)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+
+        assertThat(adapter().revokeRole(adminRole.getId(), usernames).block()).isEqualTo(2L);
+        assertThat(adapter().findById(bob.getId()).block().getRoles())
+                .extracting(Role::getName)
+                .containsExactly("ROLE_USER");
+    }
+
+    private User user(String name, Role... roles) {
+        return User.builder()
+                .username(tag + "-" + name)
+                .email(tag + "-" + name + "@" + tag + ".test")
+                .password("x")
+                .roles(Set.of(roles))
+                .build();
+    }
+}
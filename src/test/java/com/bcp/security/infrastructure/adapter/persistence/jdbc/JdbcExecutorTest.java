@@ -0,0 +1,78 @@
+package com.bcp.security.infrastructure.adapter.persistence.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class JdbcExecutorTest {
+
+    private static final int MAX_IN_FLIGHT = 2;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcExecutor executor = new JdbcExecutor(false, 4, MAX_IN_FLIGHT, meterRegistry);
+
+    @AfterEach
+    void shutDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void callsOverTheLimitFailFastAndFinishedCallsReleaseTheirPermits() {
+        CountDownLatch release = new CountDownLatch(1);
+        Mono<String> blocked = executor.call(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        }).cache();
+        blocked.subscribe();
+        Mono<String> alsoBlocked = executor.call(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        }).cache();
+        alsoBlocked.subscribe();
+
+        // Sin esperar a que se libere un hilo ni una conexión
+        StepVerifier.create(executor.call(() -> "over the limit"))
+                .expectError(RejectedExecutionException.class)
+                .verify(Duration.ofMillis(500));
+        assertThat(meterRegistry.counter("jdbc.executor.rejected", "threads", "platform").count()).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(MAX_IN_FLIGHT);
+
+        release.countDown();
+        assertThat(blocked.block()).isEqualTo("done");
+        assertThat(alsoBlocked.block()).isEqualTo("done");
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> inFlight() == 0);
+        StepVerifier.create(executor.call(() -> "admitted"))
+                .expectNext("admitted")
+                .verifyComplete();
+    }
+
+    @Test
+    void failedCallsReleaseTheirPermits() {
+        for (int i = 0; i < MAX_IN_FLIGHT * 2; i++) {
+            StepVerifier.create(executor.call(() -> {
+                        throw new IllegalStateException("connection refused");
+                    }))
+                    .expectError(IllegalStateException.class)
+                    .verify(Duration.ofSeconds(2));
+        }
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> inFlight() == 0);
+        assertThat(meterRegistry.counter("jdbc.executor.rejected", "threads", "platform").count()).isZero();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("jdbc.executor.in-flight").gauge().value();
+    }
+}
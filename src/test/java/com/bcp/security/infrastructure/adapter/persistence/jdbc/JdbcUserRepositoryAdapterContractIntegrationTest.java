@@ -0,0 +1,24 @@
+package com.bcp.security.infrastructure.adapter.persistence.jdbc;
+
+import com.bcp.security.domain.port.out.UserRepository;
+import com.bcp.security.infrastructure.adapter.persistence.UserRepositoryContract;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The h2 profile creates the schema over R2DBC; the jdbc profile points the pool at the same
+ * in-memory database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"h2", "jdbc"})
+class JdbcUserRepositoryAdapterContractIntegrationTest extends UserRepositoryContract {
+
+    @Autowired
+    private JdbcUserRepositoryAdapter adapter;
+
+    @Override
+    protected UserRepository adapter() {
+        return adapter;
+    }
+}
@@ -0,0 +1,171 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.port.out.UserRepository;
+import com.bcp.security.infrastructure.adapter.persistence.entity.UserRoleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Counts the statements role writes issue through {@link R2dbcUserBatchRepository}, which
+ * runs every one of them against the embedded database, and checks what ends up stored.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+class UserRoleWritesIntegrationTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @MockitoSpyBean
+    private R2dbcUserBatchRepository userBatchRepository;
+
+    private String tag;
+
+    @BeforeEach
+    void newTag() {
+        tag = "rw" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void savingRolesOnlyTouchesTheRowsThatChange() {
+        Role kept = role("KEPT");
+        Role dropped = role("DROPPED");
+        Role added = role("ADDED");
+        User user = userRepository.save(User.builder()
+                .username(tag)
+                .email(tag + "@example.com")
+                .password("x")
+                .roles(Set.of(kept, dropped))
+                .build()).block();
+        clearInvocations(userBatchRepository);
+
+        user.setRoles(Set.of(kept, added));
+        userRepository.save(user).block();
+
+        verify(userBatchRepository, times(1)).deleteUserRoles(user.getId(), Set.of(dropped.getId()));
+        verify(userBatchRepository, times(1)).insertUserRoles(List.of(new UserRoleEntity(user.getId(), added.getId())));
+        assertThat(storedRoleIds(user.getId())).containsExactlyInAnyOrder(kept.getId(), added.getId());
+    }
+
+    @Test
+    void savingTheSameRolesAgainIssuesNoRoleStatement() {
+        Role kept = role("KEPT");
+        User user = userRepository.save(User.builder()
+                .username(tag)
+                .email(tag + "@example.com")
+                .password("x")
+                .roles(Set.of(kept))
+                .build()).block();
+        clearInvocations(userBatchRepository);
+
+        userRepository.save(user).block();
+
+        // Con colecciones vacías el repositorio no llega a ejecutar la sentencia
+        verify(userBatchRepository).deleteUserRoles(user.getId(), Set.of());
+        verify(userBatchRepository).insertUserRoles(List.of());
+        verify(userBatchRepository, never()).deleteAllUserRoles(any());
+        assertThat(storedRoleIds(user.getId())).containsExactly(kept.getId());
+    }
+
+    @Test
+    void bulkGrantAndRevokeRunOneStatementPerThousandUsers() {
+        Role role = role("BULK");
+        List<String> usernames = insertUsers(BATCH_SIZE + 1);
+        List<String> requested = new ArrayList<>(usernames);
+        requested.add(tag + "-missing");
+
+        assertThat(userRepository.grantRole(role.getId(), requested).block()).isEqualTo(BATCH_SIZE + 1);
+        assertThat(grantBatchSizes(role)).containsExactly(BATCH_SIZE, 1);
+        assertThat(countWithRole(role)).isEqualTo(BATCH_SIZE + 1);
+
+        // Los que ya tienen el rol no cuentan como cambio
+        clearInvocations(userBatchRepository);
+        assertThat(userRepository.grantRole(role.getId(), requested).block()).isZero();
+        verify(userBatchRepository, times(2)).grantRole(eq(role.getId()), anyCollection());
+
+        clearInvocations(userBatchRepository);
+        List<String> revoked = usernames.subList(1, usernames.size());
+        assertThat(userRepository.revokeRole(role.getId(), revoked).block()).isEqualTo(BATCH_SIZE);
+        verify(userBatchRepository, times(1)).revokeRole(eq(role.getId()), anyCollection());
+        verify(userBatchRepository, times(1)).findIdsByUsernames(anyList());
+        assertThat(countWithRole(role)).isEqualTo(1);
+    }
+
+    private List<Integer> grantBatchSizes(Role role) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> userIds = ArgumentCaptor.forClass(Collection.class);
+        verify(userBatchRepository, times(2)).grantRole(eq(role.getId()), userIds.capture());
+        return userIds.getAllValues().stream().map(Collection::size).toList();
+    }
+
+    private List<String> insertUsers(int count) {
+        databaseClient.sql("""
+                        INSERT INTO users (username, password, email, email_domain)
+                        SELECT CONCAT(:tag, '-', n), 'x', CONCAT(:tag, '-', n, '@example.com'), 'example.com'
+                        FROM SYSTEM_RANGE(1, :count) AS r (n)
+                        """)
+                .bind("tag", tag)
+                .bind("count", count)
+                .then()
+                .block();
+        return IntStream.rangeClosed(1, count).mapToObj(i -> tag + "-" + i).toList();
+    }
+
+    private Role role(String suffix) {
+        String name = "ROLE_" + tag.toUpperCase() + "_" + suffix;
+        Long id = databaseClient.sql("INSERT INTO roles (name) VALUES (:name)")
+                .bind("name", name)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        return Role.builder().id(id).name(name).build();
+    }
+
+    private List<Long> storedRoleIds(Long userId) {
+        return databaseClient.sql("SELECT role_id FROM user_roles WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("role_id", Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    private long countWithRole(Role role) {
+        return databaseClient.sql("SELECT COUNT(*) FROM user_roles WHERE role_id = :roleId")
+                .bind("roleId", role.getId())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,223 @@
+package com.bcp.security.infrastructure.adapter.persistence.repository;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.model.UserSearchCriteria;
+import com.bcp.security.domain.model.UserSearchCursor;
+import com.bcp.security.domain.model.UserSearchOrder;
+import com.bcp.security.domain.model.UserSearchPage;
+import com.bcp.security.domain.port.in.UserUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks every search order page by page, passing each cursor through its encoded form as a
+ * client would, and checks that the pages add up to the full result with nothing skipped or
+ * repeated. Every user here gets a tag of its own so other tests sharing the database do not
+ * show up in the results. The plans are H2's; it does not always report a sort that the index
+ * makes unnecessary, so that is only asserted where it does.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+class UserSearchPaginationIntegrationTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final LocalDateTime BASE = LocalDateTime.of(2091, 5, 17, 8, 30);
+    private static final Pattern DRIVING_INDEX = Pattern.compile("FROM public\\.(?:users u|user_roles fr)\\s+/\\* public\\.(\\w+)");
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private String tag;
+    private String role;
+    private final List<Seed> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void insertUsers() {
+        tag = "cur" + UUID.randomUUID().toString().substring(0, 8);
+        role = "ROLE_" + tag.toUpperCase();
+        databaseClient.sql("INSERT INTO roles (name) VALUES (:name)").bind("name", role).then().block();
+
+        // Tres usuarios comparten created_at para que el desempate por id caiga entre páginas
+        insert("e", BASE.plusMinutes(1), true);
+        insert("a:b", BASE, true);
+        insert("c", BASE.plusMinutes(1), false);
+        insert("b", BASE.plusNanos(1_000), true);
+        insert("d", BASE.plusMinutes(1), true);
+        insert("a", BASE.plusDays(1), false);
+        insert("f", BASE.plusSeconds(30), true);
+    }
+
+    @Test
+    void emailDomainSearchPagesByIdWithoutGapsOrRepeats() {
+        UserSearchCriteria criteria = UserSearchCriteria.builder().emailDomain(tag + ".test").build();
+
+        assertWalk(criteria, UserSearchOrder.ID, inserted.stream()
+                .sorted(Comparator.comparing(Seed::id))
+                .toList());
+    }
+
+    @Test
+    void roleSearchPagesByIdWithoutGapsOrRepeats() {
+        UserSearchCriteria criteria = UserSearchCriteria.builder().role(role).build();
+
+        assertWalk(criteria, UserSearchOrder.ID, inserted.stream()
+                .filter(Seed::withRole)
+                .sorted(Comparator.comparing(Seed::id))
+                .toList());
+    }
+
+    @Test
+    void usernamePrefixSearchPagesByUsernameWithoutGapsOrRepeats() {
+        UserSearchCriteria criteria = UserSearchCriteria.builder().usernamePrefix(tag + "-").build();
+
+        assertWalk(criteria, UserSearchOrder.USERNAME, inserted.stream()
+                .sorted(Comparator.comparing(Seed::username))
+                .toList());
+    }
+
+    @Test
+    void creationRangeSearchPagesByCreationThenIdAcrossTies() {
+        UserSearchCriteria criteria = UserSearchCriteria.builder()
+                .createdFrom(BASE)
+                .createdTo(BASE.plusDays(1))
+                .build();
+
+        List<User> walked = walk(criteria, UserSearchOrder.CREATED_AT);
+
+        // Los demás tests insertan en el mismo rango: solo se compara el orden de los usuarios de este
+        assertThat(walked).extracting(User::getId).doesNotHaveDuplicates();
+        assertThat(walked.stream().filter(user -> user.getUsername().startsWith(tag + "-")).toList())
+                .extracting(User::getUsername)
+                .containsExactlyElementsOf(inserted.stream()
+                        .filter(seed -> seed.createdAt().isBefore(BASE.plusDays(1)))
+                        .sorted(Comparator.comparing(Seed::createdAt).thenComparing(Seed::id))
+                        .map(Seed::username)
+                        .toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("indexedSearches")
+    void everyPageIsAnIndexRangeRead(UserSearchCriteria criteria, String index, boolean sortedByIndex) {
+        for (UserSearchCursor after : Arrays.asList(null, new UserSearchCursor(criteria.order(), 1L, "a", BASE))) {
+            String plan = explain(UserQueries.search(criteria, after, PAGE_SIZE + 1));
+
+            // El primer índice del plan es el de la tabla que recorre la subconsulta paginada
+            Matcher driving = DRIVING_INDEX.matcher(plan);
+            assertThat(driving.find()).as(plan).isTrue();
+            assertThat(driving.group(1)).as(plan).matches("(?i)" + index);
+            assertThat(plan).doesNotContainIgnoringCase("tableScan");
+            if (sortedByIndex) {
+                assertThat(plan).contains("/* index sorted */");
+            }
+        }
+    }
+
+    static Stream<Arguments> indexedSearches() {
+        return Stream.of(
+                Arguments.of(UserSearchCriteria.builder().build(), "primary_key_\\d+", true),
+                Arguments.of(UserSearchCriteria.builder().emailDomain("example.com").build(), "idx_users_email_domain", false),
+                // Solo el índice único de username puede devolver las filas ya ordenadas por username
+                Arguments.of(UserSearchCriteria.builder().usernamePrefix("a").build(), "constraint_index_\\w+", true),
+                Arguments.of(UserSearchCriteria.builder().role("ROLE_USER").build(), "idx_user_roles_role", false),
+                Arguments.of(UserSearchCriteria.builder().createdFrom(BASE).build(), "idx_users_created_at", false),
+                Arguments.of(UserSearchCriteria.builder().createdFrom(BASE).createdTo(BASE.plusDays(1)).build(),
+                        "idx_users_created_at", false));
+    }
+
+    @ParameterizedTest
+    @MethodSource("combinedSearches")
+    void combinedFiltersAreRejected(UserSearchCriteria criteria) {
+        assertThat(criteria.hasSingleFilter()).isFalse();
+        StepVerifier.create(userUseCase.search(criteria, null, PAGE_SIZE))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    static Stream<UserSearchCriteria> combinedSearches() {
+        return Stream.of(
+                UserSearchCriteria.builder().usernamePrefix("a").emailDomain("example.com").build(),
+                UserSearchCriteria.builder().role("ROLE_USER").usernamePrefix("a").build(),
+                UserSearchCriteria.builder().role("ROLE_USER").emailDomain("example.com").build(),
+                UserSearchCriteria.builder().role("ROLE_USER").createdTo(BASE).build(),
+                UserSearchCriteria.builder().emailDomain("example.com").createdFrom(BASE).build());
+    }
+
+    private void assertWalk(UserSearchCriteria criteria, UserSearchOrder order, List<Seed> expected) {
+        List<String> usernames = expected.stream().map(Seed::username).toList();
+
+        assertThat(walk(criteria, order)).extracting(User::getUsername).containsExactlyElementsOf(usernames);
+        assertThat(userUseCase.searchAll(criteria).collectList().block())
+                .extracting(User::getUsername)
+                .containsExactlyElementsOf(usernames);
+    }
+
+    private String explain(UserQueries.Query query) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("EXPLAIN " + query.sql());
+        for (Map.Entry<String, Object> binding : query.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> row.get(0, String.class)).one().block();
+    }
+
+    private List<User> walk(UserSearchCriteria criteria, UserSearchOrder order) {
+        List<User> users = new ArrayList<>();
+        UserSearchCursor cursor = null;
+        do {
+            UserSearchPage page = userUseCase.search(criteria, cursor, PAGE_SIZE).block();
+            assertThat(page.getUsers()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            users.addAll(page.getUsers());
+            cursor = page.getNextCursor() != null ? UserSearchCursor.decode(page.getNextCursor().encode()) : null;
+            assertThat(cursor == null || cursor.getOrder() == order).isTrue();
+        } while (cursor != null);
+        return users;
+    }
+
+    private void insert(String suffix, LocalDateTime createdAt, boolean withRole) {
+        String username = tag + "-" + suffix;
+        Long id = databaseClient.sql("INSERT INTO users (username, password, email, email_domain, created_at) "
+                        + "VALUES (:username, 'x', :email, :domain, :createdAt)")
+                .bind("username", username)
+                .bind("email", tag + "." + inserted.size() + "@" + tag + ".test")
+                .bind("domain", tag + ".test")
+                .bind("createdAt", createdAt)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        if (withRole) {
+            databaseClient.sql("INSERT INTO user_roles (user_id, role_id) SELECT :id, id FROM roles WHERE name = :role")
+                    .bind("id", id)
+                    .bind("role", role)
+                    .then()
+                    .block();
+        }
+        inserted.add(new Seed(id, username, createdAt, withRole));
+    }
+
+    private record Seed(Long id, String username, LocalDateTime createdAt, boolean withRole) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.bcp.security.infrastructure.adapter.persistence.routing;
+
+import com.bcp.security.domain.model.User;
+import com.bcp.security.domain.port.out.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Primary and replica are separate embedded databases with nothing replicating between them,
+ * so whichever one holds a row tells which side served the read.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("replicas")
+@DirtiesContext
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadRoutingIntegrationTest {
+
+    private static final String REPLICA_URL =
+            "r2dbc:h2:mem:///security_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_ID = 900_001L;
+
+    private static ConnectionFactory replica;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DatabaseClient primary;
+
+    @BeforeAll
+    static void createReplica() {
+        // Se crea antes del contexto: la URL del pool de réplicas usa IFEXISTS
+        replica = ConnectionFactories.get(ConnectionFactoryOptions.parse(REPLICA_URL).mutate()
+                .option(ConnectionFactoryOptions.USER, "sa")
+                .option(ConnectionFactoryOptions.PASSWORD, "")
+                .build());
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(replica).block();
+        DatabaseClient.create(replica)
+                .sql("INSERT INTO users (id, username, password, email, email_domain) "
+                        + "VALUES (:id, 'replica-only', 'x', 'replica-only@example.com', 'example.com')")
+                .bind("id", REPLICA_ONLY_ID)
+                .then()
+                .block();
+    }
+
+    @BeforeEach
+    void awaitHealthyReplica() {
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> meterRegistry.get("r2dbc.replica.healthy").gauge().value() == 1);
+    }
+
+    @Test
+    @Order(1)
+    void readOfAJustWrittenUserIsServedByThePrimary() {
+        String username = "written-" + UUID.randomUUID().toString().substring(0, 8);
+        User saved = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("x")
+                .build()).block();
+        double replicaReads = replicaReads();
+
+        assertThat(userRepository.findById(saved.getId()).block())
+                .extracting(User::getUsername)
+                .isEqualTo(username);
+        assertThat(replicaReads()).isEqualTo(replicaReads);
+        assertThat(countOnReplica(saved.getId())).isZero();
+    }
+
+    @Test
+    @Order(2)
+    void readOfAnotherUserIsServedByTheReplica() {
+        double replicaReads = replicaReads();
+
+        assertThat(userRepository.findById(REPLICA_ONLY_ID).block())
+                .extracting(User::getUsername)
+                .isEqualTo("replica-only");
+        assertThat(replicaReads()).isGreaterThan(replicaReads);
+    }
+
+    @Test
+    @Order(3)
+    void readByIdOfAUserWhoseRolesChangedIsServedByThePrimary() {
+        String username = "granted-" + UUID.randomUUID().toString().substring(0, 8);
+        Long id = primary.sql("INSERT INTO users (username, password, email, email_domain) "
+                        + "VALUES (:username, 'x', :email, 'example.com')")
+                .bind("username", username)
+                .bind("email", username + "@example.com")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        Long roleId = primary.sql("SELECT id FROM roles WHERE name = 'ROLE_ADMIN'")
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        // Insertado fuera del adaptador: hasta el grant, la lectura por id va a la réplica, que no lo tiene
+        assertThat(userRepository.findById(id).block()).isNull();
+
+        userRepository.grantRole(roleId, List.of(username)).block();
+
+        assertThat(userRepository.findById(id).block())
+                .extracting(User::getUsername)
+                .isEqualTo(username);
+    }
+
+    @Test
+    @Order(4)
+    void cacheFillsReadThePrimary() {
+        assertThat(userRepository.findByUsername("replica-only").block()).isNull();
+        assertThat(userRepository.checkAvailability("replica-only", null).block().isAvailable()).isTrue();
+    }
+
+    @Test
+    @Order(5)
+    void readFallsBackToThePrimaryWhenTheReplicaIsDown() {
+        DatabaseClient.create(replica).sql("SHUTDOWN").then().onErrorComplete().block();
+        double fallbacks = meterRegistry.counter("r2dbc.routing.replica.fallbacks").count();
+
+        // El health check aún no la ha sacado de rotación: la lectura intenta la réplica y cae al primario
+        assertThat(userRepository.findById(REPLICA_ONLY_ID).block()).isNull();
+        assertThat(meterRegistry.counter("r2dbc.routing.replica.fallbacks").count()).isGreaterThan(fallbacks);
+    }
+
+    private double replicaReads() {
+        return meterRegistry.counter("r2dbc.routing.reads", "target", "replica").count();
+    }
+
+    private static long countOnReplica(Long id) {
+        return DatabaseClient.create(replica)
+                .sql("SELECT COUNT(*) FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,95 @@
+package com.bcp.security.infrastructure.adapter.ratelimit;
+
+import com.bcp.security.domain.model.RateLimit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    // Un intento cada diez minutos: ningún intento vuelve durante la prueba
+    private static final RateLimit SLOW_LIMIT = new RateLimit(5, Duration.ofMinutes(50));
+    private static final Duration SLOW_INTERVAL = Duration.ofMinutes(10);
+    private static final RateLimit FAST_LIMIT = new RateLimit(2, Duration.ofMillis(400));
+    private static final Duration FAST_INTERVAL = Duration.ofMillis(200);
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(1_000, 60_000);
+
+    InMemoryRateLimitStoreTest() {
+        // La primera llamada carga clases; se hace fuera de las ventanas medidas
+        store.tryConsume("warm-up", FAST_LIMIT).block();
+    }
+
+    @Test
+    void allowsABurstOfCapacityThenAsksToWaitOneInterval() {
+        for (int i = 0; i < SLOW_LIMIT.capacity(); i++) {
+            assertThat(consume("client:a", SLOW_LIMIT)).isZero();
+        }
+
+        Duration wait = consume("client:a", SLOW_LIMIT);
+        assertThat(wait).isPositive()
+                .isLessThanOrEqualTo(SLOW_INTERVAL)
+                .isGreaterThan(SLOW_INTERVAL.minusSeconds(5));
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTheBudget() throws InterruptedException {
+        for (int i = 0; i < FAST_LIMIT.capacity(); i++) {
+            consume("client:a", FAST_LIMIT);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThat(consume("client:a", FAST_LIMIT)).isPositive();
+        }
+
+        // Tras un intervalo vuelve exactamente un intento, sin deuda por los rechazos
+        Thread.sleep(FAST_INTERVAL.toMillis() + 20);
+        assertThat(consume("client:a", FAST_LIMIT)).isZero();
+        assertThat(consume("client:a", FAST_LIMIT)).isPositive();
+    }
+
+    @Test
+    void keysHaveIndependentBudgets() {
+        for (int i = 0; i < SLOW_LIMIT.capacity(); i++) {
+            consume("client:a", SLOW_LIMIT);
+        }
+
+        assertThat(consume("client:a", SLOW_LIMIT)).isPositive();
+        assertThat(consume("client:b", SLOW_LIMIT)).isZero();
+    }
+
+    @Test
+    void idleBucketRefillsToFullCapacity() throws InterruptedException {
+        for (int i = 0; i < FAST_LIMIT.capacity(); i++) {
+            consume("client:a", FAST_LIMIT);
+        }
+
+        // Esperar más que el periodo no acumula más intentos que la capacidad
+        Thread.sleep(FAST_LIMIT.period().toMillis() * 2);
+        for (int i = 0; i < FAST_LIMIT.capacity(); i++) {
+            assertThat(consume("client:a", FAST_LIMIT)).isZero();
+        }
+        assertThat(consume("client:a", FAST_LIMIT)).isPositive();
+    }
+
+    @Test
+    void failuresCountWithinTheWindowAndLocksExpire() {
+        Duration window = Duration.ofMinutes(1);
+
+        assertThat(store.recordFailure("username:alice", window).block()).isEqualTo(1);
+        assertThat(store.recordFailure("username:alice", window).block()).isEqualTo(2);
+        store.resetFailures("username:alice").block();
+        assertThat(store.recordFailure("username:alice", window).block()).isEqualTo(1);
+
+        store.lockUntil("username:alice", Instant.now().plusSeconds(60)).block();
+        assertThat(store.lockedUntil("username:alice").block()).isAfter(Instant.now());
+        store.lockUntil("username:alice", Instant.now().minusSeconds(1)).block();
+        assertThat(store.lockedUntil("username:alice").block()).isNull();
+    }
+
+    private Duration consume(String key, RateLimit limit) {
+        return store.tryConsume(key, limit).block();
+    }
+}
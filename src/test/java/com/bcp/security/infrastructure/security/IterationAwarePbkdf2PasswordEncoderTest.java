@@ -0,0 +1,56 @@
+package com.bcp.security.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IterationAwarePbkdf2PasswordEncoderTest {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Test
+    void hashMadeAtTheOldCostStillMatchesAndIsUpgraded() {
+        String oldHash = new IterationAwarePbkdf2PasswordEncoder(1_000).encode(PASSWORD);
+        IterationAwarePbkdf2PasswordEncoder encoder = new IterationAwarePbkdf2PasswordEncoder(2_000);
+
+        assertThat(oldHash).startsWith("1000$");
+        assertThat(encoder.matches(PASSWORD, oldHash)).isTrue();
+        assertThat(encoder.matches("wrong", oldHash)).isFalse();
+        assertThat(encoder.upgradeEncoding(oldHash)).isTrue();
+
+        String upgraded = encoder.encode(PASSWORD);
+        assertThat(upgraded).startsWith("2000$");
+        assertThat(encoder.matches(PASSWORD, upgraded)).isTrue();
+        assertThat(encoder.upgradeEncoding(upgraded)).isFalse();
+    }
+
+    @Test
+    void hashWithoutIterationCountMatchesAtTheConfiguredCostAndIsUpgraded() {
+        Pbkdf2PasswordEncoder unprefixed = new Pbkdf2PasswordEncoder("", 16, 1_000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        unprefixed.setEncodeHashAsBase64(true);
+        String legacyHash = unprefixed.encode(PASSWORD);
+        IterationAwarePbkdf2PasswordEncoder encoder = new IterationAwarePbkdf2PasswordEncoder(1_000);
+
+        assertThat(encoder.matches(PASSWORD, legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    void delegatingEncoderUpgradesPbkdf2HashesAfterAnIterationChange() {
+        PasswordEncoder before = passwordEncoder(1_000);
+        PasswordEncoder after = passwordEncoder(2_000);
+        String stored = before.encode(PASSWORD);
+
+        assertThat(stored).startsWith("{pbkdf2}1000$");
+        assertThat(after.matches(PASSWORD, stored)).isTrue();
+        assertThat(after.upgradeEncoding(stored)).isTrue();
+        assertThat(after.upgradeEncoding(after.encode(PASSWORD))).isFalse();
+    }
+
+    private static PasswordEncoder passwordEncoder(int pbkdf2Iterations) {
+        return new SecurityConfig(null, null, null, null, null).passwordEncoder("pbkdf2", 4, pbkdf2Iterations);
+    }
+}
@@ -0,0 +1,281 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.SigningKey;
+import com.bcp.security.domain.port.out.SigningKeyRepository;
+import com.bcp.security.infrastructure.adapter.persistence.RoleCatalog;
+import com.bcp.security.infrastructure.observability.JwtKeyRingHealthIndicator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    private static final long TOKEN_VALIDITY = 900_000L;
+    private static final long ROTATION_INTERVAL = 604_800_000L;
+    private static final long PUBLISH_AHEAD = 3_600_000L;
+
+    private static final Instant START = Instant.parse("2026-01-05T10:00:00Z");
+
+    private final InMemorySigningKeys repository = new InMemorySigningKeys();
+    private final MutableClock clock = new MutableClock(START);
+    private final JwtKeyRing keyRing = new JwtKeyRing(repository, SECRET, TOKEN_VALIDITY, "RS256",
+            ROTATION_INTERVAL, PUBLISH_AHEAD, clock);
+
+    @Test
+    void emptyRingStartsWithAKeyActiveRightAway() {
+        keyRing.refresh().block();
+
+        assertThat(keyRing.signingKey().notBefore()).isEqualTo(START);
+        assertThat(repository.keys.values()).extracting(SigningKey::getGeneration).containsExactly(0L);
+    }
+
+    @Test
+    void successorIsPublishedAheadOfTakingOver() {
+        keyRing.refresh().block();
+        String first = keyRing.signingKey().kid();
+
+        clock.set(START.plusMillis(ROTATION_INTERVAL - PUBLISH_AHEAD - 1));
+        keyRing.refresh().block();
+        assertThat(keyRing.publishedKeys()).hasSize(1);
+
+        clock.set(START.plusMillis(ROTATION_INTERVAL - PUBLISH_AHEAD));
+        keyRing.refresh().block();
+
+        assertThat(keyRing.publishedKeys()).hasSize(2);
+        JwtKeyRing.RingKey successor = keyRing.publishedKeys().get(0);
+        assertThat(successor.kid()).isNotEqualTo(first);
+        assertThat(successor.notBefore()).isEqualTo(START.plusMillis(ROTATION_INTERVAL));
+        assertThat(keyRing.signingKey().kid()).isEqualTo(first);
+        assertThat(keyRing.verificationKey(successor.kid())).isEqualTo(successor.publicKey());
+    }
+
+    @Test
+    void currentKeySwitchesAtTheSuccessorsNotBefore() {
+        String first = bootstrapAndPublishSuccessor();
+        JwtKeyRing.RingKey successor = keyRing.publishedKeys().get(0);
+
+        clock.set(successor.notBefore().minusMillis(1));
+        assertThat(keyRing.signingKey().kid()).isEqualTo(first);
+
+        // No hace falta recargar: el anillo ya tiene a la sucesora
+        clock.set(successor.notBefore());
+        assertThat(keyRing.signingKey().kid()).isEqualTo(successor.kid());
+    }
+
+    @Test
+    void supersededKeyIsRetiredOnceItsTokensCanNoLongerBeValid() {
+        String first = bootstrapAndPublishSuccessor();
+        Instant takeover = keyRing.publishedKeys().get(0).notBefore();
+        Instant lastValidUse = takeover.plusMillis(TOKEN_VALIDITY).plus(Duration.ofMinutes(5));
+
+        clock.set(lastValidUse.minusMillis(1));
+        keyRing.refresh().block();
+        assertThat(keyRing.verificationKey(first)).isNotNull();
+
+        clock.set(lastValidUse);
+        keyRing.refresh().block();
+        assertThat(keyRing.verificationKey(first)).isNull();
+        assertThat(repository.keys).doesNotContainKey(first);
+        assertThat(keyRing.publishedKeys()).hasSize(1);
+    }
+
+    @Test
+    void privateKeysAreStoredEncryptedAndDecryptWithTheSameSecret() {
+        keyRing.refresh().block();
+        JwtKeyRing.RingKey key = keyRing.signingKey();
+        byte[] plain = key.privateKey().getEncoded();
+        byte[] stored = Base64.getDecoder().decode(repository.keys.get(key.kid()).getPrivateKey());
+
+        // IV de 12 bytes delante y etiqueta GCM de 16 bytes detrás
+        assertThat(stored).hasSize(12 + plain.length + 16);
+        assertThat(new String(stored, StandardCharsets.ISO_8859_1))
+                .doesNotContain(new String(plain, StandardCharsets.ISO_8859_1));
+
+        JwtKeyRing otherNode = new JwtKeyRing(repository, SECRET, TOKEN_VALIDITY, "RS256",
+                ROTATION_INTERVAL, PUBLISH_AHEAD, clock);
+        otherNode.refresh().block();
+        assertThat(otherNode.signingKey().privateKey().getEncoded()).isEqualTo(plain);
+
+        JwtKeyRing wrongSecret = new JwtKeyRing(repository, SECRET.replace('5', '6'), TOKEN_VALIDITY, "RS256",
+                ROTATION_INTERVAL, PUBLISH_AHEAD, clock);
+        assertThatIllegalStateException()
+                .isThrownBy(() -> wrongSecret.refresh().block())
+                .withMessageContaining(key.kid());
+    }
+
+    @Test
+    void storedKeyMovedToAnotherKidDoesNotDecrypt() {
+        keyRing.refresh().block();
+        SigningKey stored = repository.keys.values().iterator().next();
+        repository.keys.clear();
+        // El kid es dato autenticado del cifrado: no se puede reutilizar la clave bajo otro kid
+        stored.setKid("moved");
+        repository.keys.put("moved", stored);
+
+        assertThatIllegalStateException().isThrownBy(() -> keyRing.refresh().block());
+    }
+
+    @Test
+    void tokensVerifyWhileTheirKeyIsPublishedAndNotWithAnUnknownKid() {
+        keyRing.refresh().block();
+        JwtTokenProvider tokenProvider = tokenProvider(keyRing);
+        String signedByFirst = tokenProvider.generateToken(authentication());
+
+        JwtKeyRing.RingKey successor = publishSuccessor();
+        clock.set(successor.notBefore());
+        assertThat(keyRing.signingKey().kid()).isEqualTo(successor.kid());
+
+        // Ya no firma, pero sigue publicada: sus tokens se aceptan
+        assertThat(tokenProvider(keyRing).resolveAuthentication(signedByFirst).isValid()).isTrue();
+
+        JwtKeyRing unrelated = new JwtKeyRing(new InMemorySigningKeys(), SECRET, TOKEN_VALIDITY, "RS256",
+                ROTATION_INTERVAL, PUBLISH_AHEAD, clock);
+        unrelated.refresh().block();
+        String unknownKid = tokenProvider(unrelated).generateToken(authentication());
+
+        TokenValidation validation = tokenProvider(keyRing).resolveAuthentication(unknownKid);
+        assertThat(validation.isValid()).isFalse();
+        assertThat(validation.getFailure()).isEqualTo(TokenValidation.Failure.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void nodesBootstrappingTogetherEndUpWithTheSameKey() {
+        JwtKeyRing first = keyRing();
+        JwtKeyRing second = keyRing();
+        // Ambos nodos leen la tabla vacía antes de que el otro inserte
+        repository.staleReads.set(2);
+
+        first.refresh().block();
+        second.refresh().block();
+
+        assertThat(repository.keys).hasSize(1);
+        assertThat(second.signingKey().kid()).isEqualTo(first.signingKey().kid());
+        assertThat(second.publishedKeys()).extracting(JwtKeyRing.RingKey::kid).containsExactly(first.signingKey().kid());
+    }
+
+    @Test
+    void readinessWaitsForAnActiveSigningKey() {
+        JwtKeyRing keyRing = keyRing();
+        JwtKeyRingHealthIndicator health = new JwtKeyRingHealthIndicator(keyRing);
+
+        assertThat(keyRing.hasSigningKey()).isFalse();
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThatIllegalStateException().isThrownBy(keyRing::signingKey);
+
+        keyRing.refresh().block();
+
+        assertThat(keyRing.hasSigningKey()).isTrue();
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private String bootstrapAndPublishSuccessor() {
+        keyRing.refresh().block();
+        String first = keyRing.signingKey().kid();
+        publishSuccessor();
+        return first;
+    }
+
+    private JwtKeyRing.RingKey publishSuccessor() {
+        clock.set(keyRing.signingKey().notBefore().plusMillis(ROTATION_INTERVAL - PUBLISH_AHEAD));
+        keyRing.refresh().block();
+        return keyRing.publishedKeys().get(0);
+    }
+
+    private static JwtTokenProvider tokenProvider(JwtKeyRing keyRing) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RoleClaimCodec roleClaimCodec = new RoleClaimCodec(new RoleCatalog(Flux::empty));
+        return new JwtTokenProvider(keyRing, SECRET, false, TOKEN_VALIDITY, TOKEN_VALIDITY,
+                new TokenAuthenticationCache(100, meterRegistry), roleClaimCodec, meterRegistry);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication() {
+        return new UsernamePasswordAuthenticationToken("ana", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    private JwtKeyRing keyRing() {
+        return new JwtKeyRing(repository, SECRET, TOKEN_VALIDITY, "RS256", ROTATION_INTERVAL, PUBLISH_AHEAD);
+    }
+
+    static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /**
+     * Enforces the unique generation like the signing_keys table does. Reads can be made to
+     * miss every stored key, as a node does when it reads just before another one inserts.
+     */
+    static class InMemorySigningKeys implements SigningKeyRepository {
+
+        final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+        final AtomicInteger staleReads = new AtomicInteger();
+
+        @Override
+        public Flux<SigningKey> findAll() {
+            return Flux.defer(() -> staleReads.getAndUpdate(left -> Math.max(0, left - 1)) > 0
+                    ? Flux.empty()
+                    : Flux.fromIterable(List.copyOf(keys.values())));
+        }
+
+        @Override
+        public synchronized Mono<SigningKey> save(SigningKey signingKey) {
+            if (keys.values().stream().anyMatch(key -> key.getGeneration().equals(signingKey.getGeneration()))) {
+                return Mono.error(new DuplicateKeyException("Signing key generation " + signingKey.getGeneration()));
+            }
+            keys.put(signingKey.getKid(), signingKey);
+            return Mono.just(signingKey);
+        }
+
+        @Override
+        public Mono<Void> deleteByKids(Collection<String> kids) {
+            kids.forEach(keys::remove);
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.exception.TooManyAttemptsException;
+import com.bcp.security.infrastructure.adapter.ratelimit.InMemoryRateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitedLoginThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitedLoginThrottle throttle = new RateLimitedLoginThrottle(
+            new InMemoryRateLimitStore(1_000, 60_000), meterRegistry,
+            2, 60_000,
+            3, 60_000,
+            10, 60_000,
+            2, 60_000, 1_000, 3_000);
+
+    @Test
+    void clientBudgetIsSeparateFromTheAvailabilityBudget() {
+        assertThat(throttle.checkClient("10.0.0.1").block()).isZero();
+        assertThat(throttle.checkClient("10.0.0.1").block()).isZero();
+        assertThat(throttle.checkClient("10.0.0.1").block()).isPositive();
+        assertThat(throttle.checkAvailabilityClient("10.0.0.1").block()).isZero();
+        assertThat(meterRegistry.counter("security.ratelimit.rejected", "limit", "client").count()).isEqualTo(1);
+    }
+
+    @Test
+    void usernameBudgetIgnoresCase() {
+        throttle.checkUsername("Alice").block();
+        throttle.checkUsername("alice").block();
+        throttle.checkUsername("ALICE").block();
+
+        StepVerifier.create(throttle.checkUsername("alice"))
+                .expectError(TooManyAttemptsException.class)
+                .verify();
+    }
+
+    @Test
+    void lockoutStartsAtTheThresholdAndDoublesUpToTheMaximum() {
+        throttle.recordFailure("bob").block();
+        StepVerifier.create(throttle.checkUsername("bob")).verifyComplete();
+
+        throttle.recordFailure("bob").block();
+        assertThat(lockout("bob")).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+
+        throttle.recordFailure("bob").block();
+        assertThat(lockout("bob")).isGreaterThan(Duration.ofSeconds(1)).isLessThanOrEqualTo(Duration.ofSeconds(2));
+
+        throttle.recordFailure("bob").block();
+        throttle.recordFailure("bob").block();
+        assertThat(lockout("bob")).isGreaterThan(Duration.ofSeconds(2)).isLessThanOrEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void successClearsTheFailureCount() {
+        throttle.recordFailure("carol").block();
+        throttle.recordSuccess("carol").block();
+        throttle.recordFailure("carol").block();
+
+        StepVerifier.create(throttle.checkUsername("carol")).verifyComplete();
+    }
+
+    private Duration lockout(String username) {
+        TooManyAttemptsException[] rejection = new TooManyAttemptsException[1];
+        StepVerifier.create(throttle.checkUsername(username))
+                .expectErrorSatisfies(e -> rejection[0] = (TooManyAttemptsException) e)
+                .verify();
+        assertThat(rejection[0]).hasMessageContaining("locked");
+        return rejection[0].getRetryAfter();
+    }
+}
@@ -0,0 +1,121 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.Role;
+import com.bcp.security.infrastructure.adapter.persistence.RoleCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleClaimCodecTest {
+
+    private static final Role USER = role(1, "ROLE_USER");
+    private static final Role ADMIN = role(2, "ROLE_ADMIN");
+    private static final Role AUDITOR = role(3, "ROLE_AUDITOR");
+
+    private final AtomicReference<List<Role>> roles = new AtomicReference<>(List.of(USER, ADMIN));
+    private final RoleCatalog roleCatalog = new RoleCatalog(() -> Flux.fromIterable(roles.get()));
+    private final RoleClaimCodec codec = new RoleClaimCodec(roleCatalog);
+
+    @Test
+    void nothingIsEncodedOrDecodedBeforeTheCatalogLoads() {
+        RoleCatalog neverLoaded = new RoleCatalog(Flux::never);
+        RoleClaimCodec unloaded = new RoleClaimCodec(neverLoaded);
+
+        assertThat(unloaded.encode(AuthorityUtils.createAuthorityList("ROLE_USER"))).isNull();
+        assertThat(unloaded.decode(0b10, 0)).isNull();
+    }
+
+    @Test
+    void roundTripsAgainstTheSameCatalogVersion() {
+        load(USER, ADMIN);
+
+        RoleClaimCodec.RoleClaim claim = codec.encode(AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+
+        assertThat(claim.bits()).isEqualTo(0b110);
+        assertThat(names(codec.decode(claim.bits(), claim.version()))).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(codec.decode(claim.bits(), claim.version())).isSameAs(codec.decode(claim.bits(), claim.version()));
+    }
+
+    @Test
+    void unknownRoleFallsBackToTheNamesClaim() {
+        load(USER, ADMIN);
+
+        assertThat(codec.encode(AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_GHOST"))).isNull();
+    }
+
+    @Test
+    void maskFromAPreviousVersionIsDecodedByNameAndDropsDeletedRoles() {
+        load(USER, ADMIN);
+        RoleClaimCodec.RoleClaim claim = codec.encode(AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+
+        // ROLE_ADMIN se borra y su id vuelve a usarse para otro rol
+        load(USER, role(2, "ROLE_AUDITOR"));
+
+        assertThat(names(codec.decode(claim.bits(), claim.version()))).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void maskFromAPreviousVersionFollowsRenumberedRoles() {
+        load(USER, ADMIN);
+        RoleClaimCodec.RoleClaim claim = codec.encode(AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        load(USER, role(5, "ROLE_ADMIN"));
+
+        assertThat(names(codec.decode(claim.bits(), claim.version()))).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void maskFromAnUnknownVersionDecodesByIdWhenEveryIdExists() {
+        load(USER, ADMIN, AUDITOR);
+        RoleClaimCodec.RoleClaim claim = codec.encode(AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        RoleClaimCodec otherNode = new RoleClaimCodec(catalogOf(USER, ADMIN));
+
+        assertThat(names(otherNode.decode(claim.bits(), claim.version()))).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void maskFromAnUnknownVersionNamingMissingIdsIsRejected() {
+        load(USER, ADMIN, AUDITOR);
+        RoleClaimCodec.RoleClaim claim = codec.encode(AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_AUDITOR"));
+
+        RoleClaimCodec otherNode = new RoleClaimCodec(catalogOf(USER, ADMIN));
+
+        assertThat(otherNode.decode(claim.bits(), claim.version())).isNull();
+    }
+
+    @Test
+    void legacyNamesClaimIsDecodedAndInterned() {
+        List<GrantedAuthority> decoded = codec.decodeNames("ROLE_USER,ROLE_ADMIN");
+
+        assertThat(names(decoded)).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(codec.decodeNames("ROLE_USER,ROLE_ADMIN")).isSameAs(decoded);
+    }
+
+    private void load(Role... catalog) {
+        roles.set(List.of(catalog));
+        roleCatalog.refresh().block();
+        // Se fija la decodificación de esta versión antes del siguiente cambio de catálogo
+        codec.encode(List.of());
+    }
+
+    private static RoleCatalog catalogOf(Role... catalog) {
+        RoleCatalog roleCatalog = new RoleCatalog(() -> Flux.just(catalog));
+        roleCatalog.refresh().block();
+        return roleCatalog;
+    }
+
+    private static List<String> names(List<GrantedAuthority> authorities) {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    private static Role role(long id, String name) {
+        return Role.builder().id(id).name(name).build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.bcp.security.infrastructure.security;
+
+import com.bcp.security.domain.model.TokenRevocation;
+import com.bcp.security.domain.port.out.RevocationBus;
+import com.bcp.security.domain.port.out.TokenRevocationRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+    private final RevocationBus revocationBus = mock(RevocationBus.class);
+
+    @Test
+    void revokedTokensAreNeverMissedEvenPastTheFilterCapacity() {
+        // Un filtro dimensionado para 16 entradas recibe miles: puede dar falsos positivos, nunca falsos negativos
+        TokenRevocationList list = new TokenRevocationList(repository, revocationBus, 16, 0.01);
+        List<String> revoked = IntStream.range(0, 5_000).mapToObj(i -> "jti-" + i).toList();
+        revoked.forEach(tokenId -> list.apply(token(tokenId)));
+
+        assertThat(revoked).allMatch(tokenId -> list.isRevoked(tokenId, "alice", Instant.now()));
+    }
+
+    @Test
+    void bloomFalsePositivesAreFilteredByTheExactLookup() {
+        // Un filtro saturado responde "quizá" a casi todo; el mapa exacto decide
+        TokenRevocationList list = new TokenRevocationList(repository, revocationBus, 1, 0.5);
+        IntStream.range(0, 1_000).forEach(i -> list.apply(token("jti-" + i)));
+        list.apply(user("bob", Instant.now()));
+
+        assertThat(IntStream.range(0, 10_000).mapToObj(i -> "other-" + i))
+                .noneMatch(tokenId -> list.isRevoked(tokenId, "carol-" + tokenId, Instant.now()));
+    }
+
+    @Test
+    void userRevocationCoversTokensIssuedUpToItsSecond() {
+        TokenRevocationList list = new TokenRevocationList(repository, revocationBus, 100, 0.01);
+        Instant revokedAt = Instant.parse("2026-01-01T10:00:00Z");
+        list.apply(user("alice", revokedAt));
+
+        assertThat(list.isRevoked("jti-1", "alice", revokedAt.minusSeconds(60))).isTrue();
+        assertThat(list.isRevoked("jti-1", "alice", revokedAt)).isTrue();
+        assertThat(list.isRevoked("jti-1", "alice", null)).isTrue();
+        assertThat(list.isRevoked("jti-1", "alice", revokedAt.plusSeconds(1))).isFalse();
+        assertThat(list.isRevoked("jti-1", "bob", revokedAt.minusSeconds(60))).isFalse();
+    }
+
+    @Test
+    void reloadKeepsActiveLocalRevocationsAndDropsExpiredOnes() {
+        TokenRevocationList list = new TokenRevocationList(repository, revocationBus, 100, 0.01);
+        list.apply(token("local"));
+        list.apply(TokenRevocation.builder()
+                .type(TokenRevocation.Type.TOKEN)
+                .subject("expired")
+                .revokedAt(Instant.now().minusSeconds(120))
+                .expiresAt(Instant.now().minusSeconds(60))
+                .build());
+        when(repository.findActive(any())).thenReturn(Flux.just(token("stored")));
+
+        StepVerifier.create(list.reload()).verifyComplete();
+
+        assertThat(list.isRevoked("stored", null, null)).isTrue();
+        assertThat(list.isRevoked("local", null, null)).isTrue();
+        assertThat(list.isRevoked("expired", null, null)).isFalse();
+    }
+
+    private static TokenRevocation token(String tokenId) {
+        return TokenRevocation.builder()
+                .type(TokenRevocation.Type.TOKEN)
+                .subject(tokenId)
+                .revokedAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(15)))
+                .build();
+    }
+
+    private static TokenRevocation user(String username, Instant revokedAt) {
+        return TokenRevocation.builder()
+                .type(TokenRevocation.Type.USER)
+                .subject(username)
+                .revokedAt(revokedAt)
+                .expiresAt(revokedAt.plus(Duration.ofHours(24)))
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.bcp.security.infrastructure.web.codec;
+
+import com.bcp.security.infrastructure.web.dto.response.ApiResponse;
+import com.bcp.security.infrastructure.web.dto.response.JwtResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserPageResponse;
+import com.bcp.security.infrastructure.web.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiResponseEncoderTest {
+
+    // Igual que el ObjectMapper de Spring Boot: fechas ISO en vez de arreglos
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final ResolvableType TYPE = ResolvableType.forClass(ApiResponse.class);
+    private static final String ESCAPES = "quote\" backslash\\ slash/ \n\r\t\b\f \u0000\u0001\u001f\u007f";
+    private static final String NON_ASCII = "José Ñandú · 日本語 €  ߿ࠀ￿";
+    private static final String SURROGATES = "😀 𝄞 👍🏽 lone \uD83D high \uDE00 low";
+
+    private final Jackson2JsonEncoder jackson = new Jackson2JsonEncoder(OBJECT_MAPPER);
+    private final ApiResponseEncoder encoder = new ApiResponseEncoder(jackson);
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("responses")
+    void writesTheSameBytesAsJackson(String name, ApiResponse<?> response) {
+        String expected = encode(jackson.encodeValue(response, DefaultDataBufferFactory.sharedInstance, TYPE,
+                MediaType.APPLICATION_JSON, Map.of()));
+
+        // Dos veces: la segunda usa el timestamp ya codificado
+        assertThat(encode(encoder.encodeValue(response, DefaultDataBufferFactory.sharedInstance, TYPE,
+                MediaType.APPLICATION_JSON, Map.of()))).isEqualTo(expected);
+        assertThat(encode(encoder.encodeValue(response, DefaultDataBufferFactory.sharedInstance, TYPE,
+                MediaType.APPLICATION_JSON, Map.of()))).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> responses() {
+        LocalDateTime noNanos = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        LocalDateTime zeroSeconds = LocalDateTime.of(2026, 1, 2, 3, 4);
+        LocalDateTime millis = noNanos.withNano(120_000_000);
+        LocalDateTime nanos = noNanos.withNano(123_456_789);
+        LocalDateTime singleNano = noNanos.withNano(1);
+
+        return Stream.of(
+                Arguments.of("user", ApiResponse.success(user(1L, "alice", noNanos))),
+                Arguments.of("user with zero seconds", envelope(user(1L, "alice", zeroSeconds), zeroSeconds)),
+                Arguments.of("user with millis", envelope(user(2L, "bob", millis), millis)),
+                Arguments.of("user with nanos", envelope(user(3L, "carol", nanos), nanos)),
+                Arguments.of("user with a single nano", envelope(user(3L, "carol", singleNano), singleNano)),
+                Arguments.of("user past year 9999", envelope(user(4L, "dave", LocalDateTime.of(10_000, 1, 1, 0, 0)), nanos)),
+                Arguments.of("user with null fields", envelope(new UserResponse(), noNanos)),
+                Arguments.of("user with empty roles", envelope(UserResponse.builder().id(5L).roles(new LinkedHashSet<>()).build(), noNanos)),
+                Arguments.of("user with escapes", envelope(user(-6L, ESCAPES, nanos), noNanos)),
+                Arguments.of("user with non-ASCII", envelope(user(Long.MAX_VALUE, NON_ASCII, nanos), noNanos)),
+                Arguments.of("user with surrogates", envelope(user(Long.MIN_VALUE, SURROGATES, nanos), noNanos)),
+                Arguments.of("jwt", ApiResponse.success(JwtResponse.builder()
+                        .token("header.payload.signature").refreshToken("refresh").expiresIn(900L).build())),
+                Arguments.of("jwt with null fields", envelope(new JwtResponse(null, null, null, null), millis)),
+                Arguments.of("jwt with escapes", envelope(new JwtResponse(ESCAPES, NON_ASCII, SURROGATES, 0L), nanos)),
+                Arguments.of("page", ApiResponse.success(new UserPageResponse(
+                        List.of(user(1L, "alice", noNanos), user(2L, "bob", nanos)), 2L))),
+                Arguments.of("last page", envelope(new UserPageResponse(List.of(user(1L, "alice", millis)), null), noNanos)),
+                Arguments.of("empty page", envelope(new UserPageResponse(List.of(), null), noNanos)),
+                Arguments.of("page with null users", envelope(new UserPageResponse(null, 0L), noNanos)),
+                Arguments.of("page with a null user", envelope(new UserPageResponse(
+                        Arrays.asList(null, user(7L, SURROGATES, nanos)), 7L), millis)),
+                Arguments.of("error without data", ApiResponse.error("User " + ESCAPES + NON_ASCII + SURROGATES)),
+                Arguments.of("success without data", ApiResponse.success("Token revoked", null)),
+                Arguments.of("custom status", new ApiResponse<>("PARTIAL", null, user(1L, "alice", noNanos), nanos)),
+                Arguments.of("status with escapes", new ApiResponse<>(ESCAPES, SURROGATES, null, singleNano)),
+                Arguments.of("only data", new ApiResponse<>(null, null, user(1L, "alice", noNanos), null)),
+                Arguments.of("empty envelope", new ApiResponse<>(null, null, null, null)),
+                Arguments.of("only timestamp", new ApiResponse<>(null, null, null, zeroSeconds)));
+    }
+
+    private static ApiResponse<Object> envelope(Object data, LocalDateTime timestamp) {
+        return new ApiResponse<>(ApiResponse.STATUS_SUCCESS, ApiResponse.DEFAULT_SUCCESS_MESSAGE, data, timestamp);
+    }
+
+    private static UserResponse user(Long id, String username, LocalDateTime createdAt) {
+        return UserResponse.builder()
+                .id(id)
+                .username(username)
+                .email(username + "@example.com")
+                .roles(new LinkedHashSet<>(List.of("ROLE_USER", "ROLE_" + username)))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static String encode(DataBuffer buffer) {
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
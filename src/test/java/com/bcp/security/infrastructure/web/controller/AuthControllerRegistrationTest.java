@@ -0,0 +1,122 @@
+package com.bcp.security.infrastructure.web.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sign-up as a client sees it: the availability check a form sends while the user types, and
+ * the conflicts registration reports whether the duplicate is caught by that check or only by
+ * the unique index at insert time.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("h2")
+class AuthControllerRegistrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private String username;
+
+    @BeforeEach
+    void newUsername() {
+        username = "reg" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void availabilityReportsEachFieldAndHeadAnswersWithTheStatusOnly() {
+        register(username, username + "@example.com").expectStatus().isCreated();
+
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/auth/availability")
+                        .queryParam("username", username)
+                        .queryParam("email", "free-" + username + "@example.com")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.available").isEqualTo(false)
+                .jsonPath("$.data.usernameAvailable").isEqualTo(false)
+                .jsonPath("$.data.emailAvailable").isEqualTo(true);
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/auth/availability").queryParam("email", username + "@example.com").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.available").isEqualTo(false)
+                .jsonPath("$.data.usernameAvailable").doesNotExist();
+
+        head(username).expectStatus().isEqualTo(409).expectBody().isEmpty();
+        head("free-" + username).expectStatus().isOk().expectBody().isEmpty();
+    }
+
+    @Test
+    void availabilityWithoutAnythingToCheckIsABadRequest() {
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/auth/availability").queryParam("username", " ").build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void duplicateCaughtByThePrecheckIsAConflictOnThatField() {
+        register(username, username + "@example.com").expectStatus().isCreated();
+
+        register(username, "other-" + username + "@example.com")
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.data.username").exists()
+                .jsonPath("$.data.email").doesNotExist();
+    }
+
+    @Test
+    void duplicateCaughtOnlyAtInsertTimeIsAConflictOnThatField() {
+        // Ambos campos quedan en caché como libres; el usuario aparece después por otra vía
+        webTestClient.head()
+                .uri(uri -> uri.path("/api/auth/availability")
+                        .queryParam("username", username)
+                        .queryParam("email", username + "@example.com")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+        databaseClient.sql("INSERT INTO users (username, password, email, email_domain) "
+                        + "VALUES (:username, 'x', :email, 'example.com')")
+                .bind("username", username)
+                .bind("email", "raced-" + username + "@example.com")
+                .then()
+                .block();
+
+        register(username, username + "@example.com")
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.data.username").exists()
+                .jsonPath("$.data.email").doesNotExist();
+    }
+
+    private WebTestClient.ResponseSpec head(String username) {
+        return webTestClient.head()
+                .uri(uri -> uri.path("/api/auth/availability").queryParam("username", username).build())
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec register(String username, String email) {
+        return webTestClient.post()
+                .uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", username, "email", email, "password", "secret-password"))
+                .exchange();
+    }
+}
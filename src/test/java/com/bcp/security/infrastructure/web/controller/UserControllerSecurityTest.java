@@ -0,0 +1,125 @@
+package com.bcp.security.infrastructure.web.controller;
+
+import com.bcp.security.infrastructure.security.JwtKeyRing;
+import com.bcp.security.infrastructure.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The listing and search endpoints hand out every user's email and roles, so they are for
+ * administrators only, and the batch lookup also for other services; any other authenticated
+ * caller gets 403.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("h2")
+class UserControllerSecurityTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @BeforeEach
+    void awaitSigningKey() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> !keyRing.publishedKeys().isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/users", "/api/users/page"})
+    void listingIsForbiddenToNonAdmins(String path) {
+        get(path, MediaType.APPLICATION_JSON, "ROLE_USER").expectStatus().isForbidden();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/users", "/api/users/page"})
+    void listingIsServedToAdmins(String path) {
+        get(path, MediaType.APPLICATION_JSON, "ROLE_ADMIN").expectStatus().isOk();
+    }
+
+    @Test
+    void streamedListingIsForbiddenToNonAdmins() {
+        get("/api/users", MediaType.APPLICATION_NDJSON, "ROLE_USER").expectStatus().isForbidden();
+    }
+
+    @Test
+    void streamedListingIsServedToAdmins() {
+        get("/api/users", MediaType.APPLICATION_NDJSON, "ROLE_ADMIN").expectStatus().isOk();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/json", "application/x-ndjson"})
+    void searchIsForbiddenToNonAdmins(String accept) {
+        get("/api/users/search?emailDomain=example.com", MediaType.parseMediaType(accept), "ROLE_USER")
+                .expectStatus().isForbidden();
+        get("/api/users/search?role=ROLE_ADMIN", MediaType.parseMediaType(accept), "ROLE_USER")
+                .expectStatus().isForbidden();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/json", "application/x-ndjson"})
+    void searchIsServedToAdmins(String accept) {
+        get("/api/users/search?emailDomain=example.com", MediaType.parseMediaType(accept), "ROLE_ADMIN")
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void searchCombiningFiltersIsABadRequest() {
+        get("/api/users/search?username=a&role=ROLE_USER", MediaType.APPLICATION_JSON, "ROLE_ADMIN")
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void batchLookupIsForbiddenToEndUsers() {
+        postBatch("ROLE_USER").expectStatus().isForbidden();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ROLE_ADMIN", "ROLE_SERVICE"})
+    void batchLookupIsServedToAdminsAndServices(String role) {
+        postBatch(role).expectStatus().isOk();
+    }
+
+    private WebTestClient.ResponseSpec postBatch(String role) {
+        return webTestClient.post()
+                .uri("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> headers.setBearerAuth(token(role)))
+                .bodyValue(Map.of("ids", List.of(1, 2, 3)))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec get(String path, MediaType accept, String role) {
+        return webTestClient.get()
+                .uri(path)
+                .accept(accept)
+                .headers(headers -> headers.setBearerAuth(token(role)))
+                .exchange();
+    }
+
+    private String token(String role) {
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                role.toLowerCase(Locale.ROOT) + "-caller", null, AuthorityUtils.createAuthorityList(role)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.bcp.security.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+class EndpointStats {
+
+    private final Recorder latencies = new Recorder(TimeUnit.SECONDS.toMicros(60), 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    void record(long startNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos),
+                TimeUnit.SECONDS.toMicros(60)));
+        requests.increment();
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status == 0 || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return statusCounts;
+    }
+
+    /**
+     * Takes the latency histogram for the interval since the last report, so call it once.
+     */
+    Map<String, Object> report(double elapsedSeconds) {
+        Histogram histogram = latencies.getIntervalHistogram();
+        long total = requests.sum();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", total);
+        report.put("errors", errors.sum());
+        report.put("errorRate", total > 0 ? (double) errors.sum() / total : 0.0);
+        report.put("throughputPerSecond", total / elapsedSeconds);
+        report.put("p50Millis", histogram.getValueAtPercentile(50.0) / 1000.0);
+        report.put("p99Millis", histogram.getValueAtPercentile(99.0) / 1000.0);
+        report.put("p999Millis", histogram.getValueAtPercentile(99.9) / 1000.0);
+        report.put("maxMillis", histogram.getMaxValue() / 1000.0);
+
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+        report.put("statuses", statusCounts);
+        return report;
+    }
+}
@@ -0,0 +1,216 @@
+package com.bcp.security.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the service against an in-memory H2 database in MySQL mode and drives a mixed
+ * login / register / lookup / listing workload through a reactive WebClient. Tunable with
+ * {@code -Dloadtest.concurrency}, {@code -Dloadtest.duration}, {@code -Dloadtest.users},
+ * {@code -Dloadtest.mix} and {@code -Dloadtest.report}. The run fails if any operation gets a
+ * status other than the one it expects, including transport errors and 5xx.
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserApiLoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String ADMIN_USERNAME = "loadtest-admin";
+    private static final Logger log = LoggerFactory.getLogger(UserApiLoadTest.class);
+    private static final Map<String, Integer> EXPECTED_STATUS = Map.of(
+            "login", 200,
+            "register", 201,
+            "getById", 200,
+            "list", 200);
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private final int seededUsers = Integer.getInteger("loadtest.users", 500);
+    private final String mix = System.getProperty("loadtest.mix", "login:20,register:5,getById:60,list:15");
+    private final Path reportPath = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicLong registrations = new AtomicLong();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .build();
+
+        String adminToken = seed(client);
+        List<Long> userIds = fetchUserIds(client, adminToken);
+        Map<String, Integer> weights = parseMix();
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        weights.keySet().forEach(operation -> stats.put(operation, new EndpointStats()));
+        List<String> schedule = weightedSchedule(weights);
+
+        long startedAt = System.nanoTime();
+        Flux.<String>generate(sink -> sink.next(schedule.get(ThreadLocalRandom.current().nextInt(schedule.size()))))
+                .take(duration)
+                .flatMap(operation -> execute(client, adminToken, userIds, operation, stats.get(operation)),
+                        concurrency)
+                .blockLast(duration.plusMinutes(1));
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("seededUsers", seededUsers);
+        report.put("mix", weights);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((operation, endpointStats) -> endpoints.put(operation, endpointStats.report(elapsedSeconds)));
+        report.put("endpoints", endpoints);
+
+        String json = objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsString(report);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.writeString(reportPath, json);
+        log.info("Load test report written to {}:\n{}", reportPath.toAbsolutePath(), json);
+
+        assertThat(stats.values().stream().mapToLong(EndpointStats::requests).sum()).isPositive();
+        stats.forEach((operation, endpointStats) -> assertThat(endpointStats.statuses().keySet())
+                .as("statuses of %s (0 is a transport error)", operation)
+                .isSubsetOf(EXPECTED_STATUS.get(operation)));
+    }
+
+    private Mono<Void> execute(WebClient client, String adminToken, List<Long> userIds,
+                               String operation, EndpointStats stats) {
+        long start = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        Mono<Integer> request = switch (operation) {
+            case "login" -> status(client.post().uri("/api/auth/login")
+                    .bodyValue(Map.of("username", "loadtest-user-" + random.nextInt(seededUsers), "password", PASSWORD)));
+            case "register" -> {
+                String username = "loadtest-new-" + registrations.incrementAndGet();
+                yield status(client.post().uri("/api/auth/register")
+                        .bodyValue(Map.of("username", username, "password", PASSWORD,
+                                "email", username + "@loadtest.local")));
+            }
+            case "getById" -> status(client.get()
+                    .uri("/api/users/{id}", userIds.get(random.nextInt(userIds.size())))
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken));
+            case "list" -> status(client.get()
+                    .uri("/api/users/page?after={after}&size=50", userIds.get(random.nextInt(userIds.size())))
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken));
+            default -> Mono.error(new IllegalArgumentException("Unknown operation " + operation));
+        };
+
+        return request
+                .onErrorResume(e -> Mono.just(0))
+                .doOnNext(status -> stats.record(start, status))
+                .then();
+    }
+
+    private Mono<Integer> status(WebClient.RequestHeadersSpec<?> spec) {
+        return spec.exchangeToMono(response -> response.releaseBody()
+                .thenReturn(response.statusCode().value()));
+    }
+
+    private String seed(WebClient client) {
+        client.post().uri("/api/auth/register")
+                .bodyValue(Map.of("username", ADMIN_USERNAME, "password", PASSWORD,
+                        "email", ADMIN_USERNAME + "@loadtest.local", "roles", List.of("ROLE_ADMIN", "ROLE_USER")))
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+        String adminToken = login(client, ADMIN_USERNAME);
+
+        String body = IntStream.range(0, seededUsers)
+                .mapToObj(i -> "{\"username\":\"loadtest-user-" + i + "\",\"password\":\"" + PASSWORD
+                        + "\",\"email\":\"loadtest-user-" + i + "@loadtest.local\"}")
+                .collect(Collectors.joining("\n"));
+        client.post().uri("/api/admin/users/import")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .block(Duration.ofMinutes(5));
+        return adminToken;
+    }
+
+    private String login(WebClient client, String username) {
+        JsonNode response = client.post().uri("/api/auth/login")
+                .bodyValue(Map.of("username", username, "password", PASSWORD))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block();
+        return response.path("data").path("token").asText();
+    }
+
+    private List<Long> fetchUserIds(WebClient client, String adminToken) {
+        List<Long> ids = new ArrayList<>();
+        Long cursor = 0L;
+        while (cursor != null) {
+            JsonNode page = client.get()
+                    .uri("/api/users/page?after={after}&size=500", cursor)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                    .retrieve()
+                    .onStatus(status -> status.isError(), response -> response.createException()
+                            .map(WebClientResponseException.class::cast))
+                    .bodyToMono(JsonNode.class)
+                    .block();
+            page.path("data").path("users").forEach(user -> ids.add(user.path("id").asLong()));
+            JsonNode next = page.path("data").path("nextCursor");
+            cursor = next.isNumber() ? next.asLong() : null;
+        }
+        return ids;
+    }
+
+    private Map<String, Integer> parseMix() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static List<String> weightedSchedule(Map<String, Integer> weights) {
+        List<String> schedule = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        return schedule;
+    }
+}